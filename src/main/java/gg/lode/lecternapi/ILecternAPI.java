@@ -1,9 +1,12 @@
 package gg.lode.lecternapi;
 
 import gg.lode.lecternapi.api.manager.*;
+import gg.lode.lecternapi.api.transport.OutboundBatch;
 
 import org.bukkit.entity.Player;
 
+import java.util.function.Consumer;
+
 public interface ILecternAPI {
 
     /**
@@ -14,6 +17,43 @@ public interface ILecternAPI {
      */
     void resetAllEffects(Player player);
 
+    /**
+     * Opens a batch on the player's outbound traffic: every manager call for them is collected
+     * until the batch is committed, then sent at the end of the tick as one framed message, with
+     * repeated calls against the same reference coalesced to the last one.
+     *
+     * @param player the player whose calls are collected
+     * @return the open batch; commit or close it on the same tick it was opened
+     * @see OutboundBatch
+     */
+    default OutboundBatch beginBatch(Player player) {
+        // Backward-compatible fallback: no collection, every call goes out as it is made.
+        return OutboundBatch.immediate(player);
+    }
+
+    /**
+     * Runs {@code calls} inside a batch for the player and commits it, so everything they make
+     * leaves as a single message at the end of the tick.
+     *
+     * <pre>{@code
+     * api.batch(player, lectern -> {
+     *     lectern.getHUDManager().renderText(player, "timer", time, 0, 8, 0, 1f, CENTER, TOP, AUTO);
+     *     lectern.getEntityManager().tintEntity(player, boss.getUniqueId(), 255, 64, 64, 1f);
+     * });
+     * }</pre>
+     *
+     * @param player the player whose calls are collected
+     * @param calls  the manager calls to make, handed this API
+     */
+    default void batch(Player player, Consumer<ILecternAPI> calls) {
+        OutboundBatch batch = beginBatch(player);
+        try {
+            calls.accept(this);
+        } finally {
+            batch.commit();
+        }
+    }
+
     ICameraManager getCameraManager();
 
     IHUDManager getHUDManager();
@@ -77,6 +117,11 @@ public interface ILecternAPI {
 
     INicknameManager getNicknameManager();
 
+    /** Compression of large payloads on the wire, and what it has saved. */
+    default ITransportManager getTransportManager() {
+        return new ITransportManager() {};
+    }
+
     /** Per-viewer tab-list prefixes, suffixes and sorting. */
     default ITabListManager getTabListManager() {
         return new ITabListManager() {};
@@ -6,8 +6,9 @@ import gg.lode.lecternapi.api.menu.MenuTransform;
 /**
  * Sealed interface representing the data for a single element within a {@link PacketComponent}.
  * <p>
- * Each variant is a record, so equality checks are automatic — this is used by the tick loop
- * to detect which tickable elements have changed and need re-sending.
+ * Each variant is a record, so equality checks are automatic. These are snapshots: the live
+ * element is its {@link PacketComponent.ElementHandle}, which tracks its own changes, and a
+ * record is built from it only when something asks for one.
  */
 public sealed interface ElementData permits
         ElementData.TextureData,
@@ -2,11 +2,14 @@ package gg.lode.lecternapi.api.component;
 
 import gg.lode.lecternapi.LecternAPI;
 import gg.lode.lecternapi.api.menu.ButtonListener;
+import gg.lode.lecternapi.api.menu.HorizontalAlignment;
 import gg.lode.lecternapi.api.menu.MenuTransform;
+import gg.lode.lecternapi.api.menu.VerticalAlignment;
 
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -17,10 +20,14 @@ import java.util.function.Consumer;
  * monitored each server tick — only changed elements are re-sent to the client.
  * <p>
  * Subclass and override {@link #build(Builder)} to define layout, and optionally
- * override {@link #tick()} for dynamic updates:
+ * override {@link #tick()} for dynamic updates. Each builder call returns the element's
+ * {@link ElementHandle}; keeping it and setting values on it directly is the cheap way to
+ * animate, since a handle changes in place and only flags what moved:
  * <pre>
  * public class HealthBar extends PacketComponent {
  *     private final Player target;
+ *     private ElementHandle fill;
+ *     private ElementHandle label;
  *
  *     public HealthBar(Player target) {
  *         super("health_bar", target, MenuTransform.at(10, 10));
@@ -30,20 +37,22 @@ import java.util.function.Consumer;
  *     &#64;Override
  *     protected void build(Builder builder) {
  *         builder.addTexture("bg", "mygame:hud/bar_bg", MenuTransform.at(0, 0), 200, 20);
- *         builder.addTexture("fill", "mygame:hud/bar_fill", MenuTransform.at(2, 2), 196, 16)
+ *         fill = builder.addTexture("fill", "mygame:hud/bar_fill", MenuTransform.at(2, 2), 196, 16)
  *                .tickable();
- *         builder.addText("label", formatHealth(), MenuTransform.at(100, 10).centered(), 1.0f)
+ *         label = builder.addText("label", formatHealth(), MenuTransform.at(100, 10).centered(), 1.0f)
  *                .tickable();
  *     }
  *
  *     &#64;Override
  *     protected void tick() {
  *         float pct = (float) target.getHealth() / 20f;
- *         update("fill", texture -&gt; texture.width(196 * pct));
- *         update("label", text -&gt; text.text(formatHealth()));
+ *         fill.width(196 * pct);
+ *         label.text(formatHealth());
  *     }
  * }
  * </pre>
+ * {@link #update(String, Consumer)} still works and lands on the same handle, at the cost of an
+ * updater and a record per call.
  *
  * Show/hide via {@code LecternAPI.getApi().getPacketComponentManager().show(player, component)}.
  */
@@ -53,13 +62,27 @@ public abstract class PacketComponent {
     private final Player player;
     private final MenuTransform transform;
 
-    // Preserves insertion order for deterministic rendering
-    private final LinkedHashMap<String, ElementData> elements = new LinkedHashMap<>();
+    // Preserves insertion order for deterministic rendering; keyed by qualified reference
+    private final LinkedHashMap<String, ElementHandle> handles = new LinkedHashMap<>();
+    // Same handles keyed by the reference the subclass passed, so lookups skip qualifyRef()
+    private final Map<String, ElementHandle> handlesByReference = new HashMap<>();
     private final Set<String> tickableRefs = new LinkedHashSet<>();
-    private final Map<String, ButtonListener> buttonListeners = new LinkedHashMap<>();
+    // Concurrent because an async tick may swap a listener while the main thread dispatches a click
+    private final Map<String, ButtonListener> buttonListeners = new ConcurrentHashMap<>();
+    private final List<ElementHandle> dirtyHandles = new ArrayList<>();
+    private final Map<String, ElementData> elements = Collections.unmodifiableMap(new ElementView());
+    // Live read-only views, made once so the manager's per-tick diff allocates nothing
+    private final Collection<ElementHandle> handleView = Collections.unmodifiableCollection(handles.values());
+    private final List<ElementHandle> dirtyHandleView = Collections.unmodifiableList(dirtyHandles);
 
     private boolean built = false;
 
+    private int tickInterval = 1;
+    private int tickPhase = -1;
+    private int resolvedTickPhase = -1;
+    private TickPriority tickPriority = TickPriority.NORMAL;
+    private boolean asyncTick = false;
+
     public PacketComponent(String id, Player player, MenuTransform transform) {
         this.id = id;
         this.player = player;
@@ -74,10 +97,107 @@ public abstract class PacketComponent {
 
     /**
      * Override to update tickable elements each server tick.
-     * Use {@link #update(String, Consumer)} to modify element properties.
+     * Set values on the {@link ElementHandle}s kept from {@link #build(Builder)}, or use
+     * {@link #update(String, Consumer)} to modify element properties by reference.
      */
     protected void tick() {}
 
+    // --- Tick scheduling (call from the constructor or build()) ---
+
+    /**
+     * Ticks this component every {@code ticks} server ticks rather than every tick. Elements are
+     * still diffed only when the component ticks, so a timer showing whole seconds can run at an
+     * interval of 20 and cost a twentieth as much.
+     * <p>
+     * Components sharing an interval do not all tick together: each is given its own phase, so a
+     * thousand components at an interval of 10 tick about a hundred at a time.
+     *
+     * @param ticks server ticks between ticks of this component; 1 (the default) is every tick
+     */
+    protected void setTickInterval(int ticks) {
+        this.tickInterval = Math.max(1, ticks);
+        this.resolvedTickPhase = -1;
+    }
+
+    /**
+     * Sets the interval as a rate instead. Rates are rounded to a whole number of server ticks,
+     * and anything at or above 20 Hz ticks every tick.
+     */
+    protected void setTickRate(float hertz) {
+        setTickInterval(hertz <= 0 ? 1 : Math.round(20f / hertz));
+    }
+
+    /**
+     * Pins the tick on which this component runs within its interval, instead of the spread-out
+     * phase it would otherwise get. For components that must tick together — a label and the bar
+     * it describes.
+     *
+     * @param phase the offset into the interval, taken modulo the interval
+     */
+    protected void setTickPhase(int phase) {
+        this.tickPhase = Math.max(0, phase);
+        this.resolvedTickPhase = -1;
+    }
+
+    /** Decides what gets put off when the manager's per-tick budget runs out. */
+    protected void setTickPriority(TickPriority priority) {
+        this.tickPriority = priority == null ? TickPriority.NORMAL : priority;
+    }
+
+    /**
+     * Declares {@link #tick()} safe to run off the main thread, so that a manager with
+     * {@link gg.lode.lecternapi.api.manager.IPacketComponentManager#setAsyncTicking(boolean) async
+     * ticking} enabled can run it on a worker pool alongside other components.
+     * <p>
+     * Only declare this for a tick that is pure computation over state the component owns —
+     * formatting a timer from a start time it holds, sizing a bar from a value the main thread
+     * writes to a {@code volatile} field. Any field the main thread writes while the tick may be
+     * running has to be {@code volatile} or otherwise synchronised. The tick must not call into
+     * Bukkit, read live world or player state, or touch another component.
+     * <p>
+     * Handles are safe to set as usual: the manager collects their changes on the main thread once
+     * the worker is done. A button listener swapped with {@link ElementHandle#listener} takes
+     * effect for clicks straight away, since the listener registry is shared with click dispatch
+     * and safe to write from the worker.
+     */
+    protected void setAsyncTick(boolean asyncTick) {
+        this.asyncTick = asyncTick;
+    }
+
+    /** Whether {@link #tick()} has been declared safe to run off the main thread. */
+    public boolean isAsyncTick() {
+        return asyncTick;
+    }
+
+    public int getTickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * The tick within the interval on which this component runs. Unless pinned, it comes from the
+     * component id and the player, which spreads components evenly and keeps each on the same
+     * phase from one show to the next.
+     */
+    public int getTickPhase() {
+        int phase = resolvedTickPhase;
+        if (phase < 0) {
+            int seed = tickPhase >= 0 ? tickPhase
+                    : (id.hashCode() * 31 + (player == null ? 0 : player.getUniqueId().hashCode())) & 0x7FFFFFFF;
+            phase = seed % tickInterval;
+            resolvedTickPhase = phase;
+        }
+        return phase;
+    }
+
+    public TickPriority getTickPriority() {
+        return tickPriority;
+    }
+
+    /** Whether the component is scheduled to tick on the given server tick. */
+    public boolean isTickDue(long serverTick) {
+        return tickInterval == 1 || serverTick % tickInterval == getTickPhase();
+    }
+
     // --- Public API ---
 
     /**
@@ -111,13 +231,20 @@ public abstract class PacketComponent {
      */
     @SuppressWarnings("unchecked")
     protected <T extends ElementUpdater> void update(String reference, Consumer<T> updater) {
-        String qualifiedRef = qualifyRef(reference);
-        ElementData data = elements.get(qualifiedRef);
-        if (data == null) return;
+        ElementHandle handle = handlesByReference.get(reference);
+        if (handle == null) return;
 
-        ElementUpdater eu = createUpdater(data);
+        ElementUpdater eu = createUpdater(handle.data());
         ((Consumer<ElementUpdater>) updater).accept(eu);
-        elements.put(qualifiedRef, eu.toData());
+        handle.set(eu.toData());
+    }
+
+    /**
+     * Returns the handle for an element by the reference it was added under, or null.
+     * For subclasses that would rather look a handle up than keep a field for it.
+     */
+    protected ElementHandle handle(String reference) {
+        return handlesByReference.get(reference);
     }
 
     // --- Accessors (package-private for manager) ---
@@ -134,8 +261,43 @@ public abstract class PacketComponent {
         return transform;
     }
 
+    /**
+     * Snapshot records of every element, keyed by qualified reference. A live view: each value
+     * reflects the element's handle at the time it is read.
+     */
     public Map<String, ElementData> getElements() {
-        return Collections.unmodifiableMap(elements);
+        return elements;
+    }
+
+    /** Every element's handle, in insertion order. */
+    public Collection<ElementHandle> getHandles() {
+        return handleView;
+    }
+
+    /**
+     * Handles changed since the last {@link #clearDirty()}, in the order they first changed.
+     * <p>
+     * The manager's diff: send each one's {@link ElementHandle#getDirtyFields() changed fields},
+     * then clear. Nothing else has to be compared, and a component with nothing here costs a size
+     * check.
+     */
+    public List<ElementHandle> getDirtyHandles() {
+        return dirtyHandleView;
+    }
+
+    public boolean hasDirtyElements() {
+        return !dirtyHandles.isEmpty();
+    }
+
+    /**
+     * Marks every element as in sync with the client. Called by the manager once it has sent
+     * the dirty handles, and after the initial show.
+     */
+    public void clearDirty() {
+        for (int i = 0, size = dirtyHandles.size(); i < size; i++) {
+            dirtyHandles.get(i).dirtyFields = 0;
+        }
+        dirtyHandles.clear();
     }
 
     public Set<String> getTickableRefs() {
@@ -161,7 +323,8 @@ public abstract class PacketComponent {
     }
 
     /**
-     * Called by the manager each tick for components with tickable elements.
+     * Called by the manager for components with tickable elements, on each server tick for
+     * which {@link #isTickDue(long)} holds.
      */
     public void executeTick() {
         tick();
@@ -340,58 +503,144 @@ public abstract class PacketComponent {
          * Adds a texture element to the component.
          */
         public ElementHandle addTexture(String reference, String textureId, MenuTransform relativeTransform, float width, float height) {
-            String qualifiedRef = qualifyRef(reference);
-            elements.put(qualifiedRef, new ElementData.TextureData(textureId, relativeTransform, width, height));
-            return new ElementHandle(qualifiedRef);
+            return register(new ElementHandle(reference, ElementType.TEXTURE, textureId, relativeTransform, width, height, 1.0f, null));
         }
 
         /**
          * Adds a player head element to the component.
          */
         public ElementHandle addHead(String reference, String headUuid, MenuTransform relativeTransform, float width, float height) {
-            String qualifiedRef = qualifyRef(reference);
-            elements.put(qualifiedRef, new ElementData.HeadData(headUuid, relativeTransform, width, height));
-            return new ElementHandle(qualifiedRef);
+            return register(new ElementHandle(reference, ElementType.HEAD, headUuid, relativeTransform, width, height, 1.0f, null));
         }
 
         /**
          * Adds a player bust render to the component.
          */
         public ElementHandle addPlayer(String reference, String identifier, MenuTransform relativeTransform, float width, float height) {
-            String qualifiedRef = qualifyRef(reference);
-            elements.put(qualifiedRef, new ElementData.PlayerData(identifier, relativeTransform, width, height));
-            return new ElementHandle(qualifiedRef);
+            return register(new ElementHandle(reference, ElementType.PLAYER, identifier, relativeTransform, width, height, 1.0f, null));
         }
 
         /**
          * Adds a clickable/hoverable button element.
          */
         public ElementHandle addButton(String reference, String textureId, MenuTransform relativeTransform, int width, int height, ButtonListener listener) {
-            String qualifiedRef = qualifyRef(reference);
-            elements.put(qualifiedRef, new ElementData.ButtonData(textureId, relativeTransform, width, height, listener));
-            buttonListeners.put(qualifiedRef, listener);
-            return new ElementHandle(qualifiedRef);
+            ElementHandle handle = register(new ElementHandle(reference, ElementType.BUTTON, textureId, relativeTransform, width, height, 1.0f, listener));
+            if (listener != null) buttonListeners.put(handle.qualifiedRef, listener);
+            return handle;
         }
 
         /**
          * Adds a text component element using MiniMessage format.
          */
         public ElementHandle addText(String reference, String text, MenuTransform relativeTransform, float scale) {
-            String qualifiedRef = qualifyRef(reference);
-            elements.put(qualifiedRef, new ElementData.TextData(text, relativeTransform, scale));
-            return new ElementHandle(qualifiedRef);
+            return register(new ElementHandle(reference, ElementType.TEXT, text, relativeTransform, 0, 0, scale, null));
+        }
+
+        private ElementHandle register(ElementHandle handle) {
+            ElementHandle previous = handles.put(handle.qualifiedRef, handle);
+            if (previous != null) {
+                tickableRefs.remove(previous.qualifiedRef);
+                buttonListeners.remove(previous.qualifiedRef);
+            }
+            handlesByReference.put(handle.reference, handle);
+            return handle;
         }
     }
 
     /**
-     * Handle returned by builder methods. Call {@link #tickable()} to mark the element
-     * for per-tick dirty checking.
+     * Which component ticks run first, and which are put off, when the manager's per-tick
+     * budget is spent.
+     */
+    public enum TickPriority {
+        /** Ticks first, and is never deferred. */
+        HIGH,
+        /** Ticks after {@link #HIGH}, and is never deferred. */
+        NORMAL,
+        /** Ticks last, and is deferred to a later tick once the budget is spent. */
+        LOW
+    }
+
+    /**
+     * The kinds of element a component can hold, one per {@link ElementData} variant.
+     */
+    public enum ElementType {
+        TEXTURE,
+        HEAD,
+        PLAYER,
+        BUTTON,
+        TEXT
+    }
+
+    /**
+     * A live, pre-resolved element returned by the builder methods. Call {@link #tickable()} to
+     * mark the element for per-tick dirty checking.
+     * <p>
+     * The handle holds the element's values directly rather than a record, so setting one during
+     * {@link #tick()} writes a field and nothing more — no updater, no record, no reference
+     * string rebuilt. A setter that actually changes a value sets that field's bit in
+     * {@link #getDirtyFields()}, and the manager sends only the flagged fields — a ticking counter
+     * costs its text, a sliding bar its x. Setting a value to what it already is costs a comparison.
+     * <p>
+     * Setters that do not apply to the element's type — {@link #text(String)} on a texture,
+     * {@link #width(float)} on text — throw {@link IllegalStateException}.
      */
     public class ElementHandle {
+
+        /** The text, texture id, head UUID or player identifier. */
+        public static final int FIELD_CONTENT = 1;
+        public static final int FIELD_X = 1 << 1;
+        public static final int FIELD_Y = 1 << 2;
+        public static final int FIELD_LAYER = 1 << 3;
+        public static final int FIELD_ALPHA = 1 << 4;
+        /** Horizontal and vertical alignment, which always travel together. */
+        public static final int FIELD_ALIGNMENT = 1 << 5;
+        public static final int FIELD_WIDTH = 1 << 6;
+        public static final int FIELD_HEIGHT = 1 << 7;
+        public static final int FIELD_SCALE = 1 << 8;
+        /** The button handler. Server-side only, so a change to it alone has nothing to send. */
+        public static final int FIELD_LISTENER = 1 << 9;
+        /** Every field the client renders from — the mask for a full re-send. */
+        public static final int FIELDS_CLIENT = FIELD_CONTENT | FIELD_X | FIELD_Y | FIELD_LAYER | FIELD_ALPHA
+                | FIELD_ALIGNMENT | FIELD_WIDTH | FIELD_HEIGHT | FIELD_SCALE;
+
+        private final String reference;
         private final String qualifiedRef;
+        private final ElementType type;
+
+        private String content;
+        private float x;
+        private float y;
+        private int layer;
+        private float alpha;
+        private HorizontalAlignment horizontalAlignment;
+        private VerticalAlignment verticalAlignment;
+        private float width;
+        private float height;
+        private float scale;
+        private ButtonListener listener;
+
+        private int dirtyFields;
+        // Rebuilt on demand after a change; what getElements() and the legacy updaters read
+        private ElementData data;
+        private MenuTransform relativeTransform;
 
-        ElementHandle(String qualifiedRef) {
-            this.qualifiedRef = qualifiedRef;
+        ElementHandle(String reference, ElementType type, String content, MenuTransform relativeTransform,
+                      float width, float height, float scale, ButtonListener listener) {
+            this.reference = reference;
+            this.qualifiedRef = qualifyRef(reference);
+            this.type = type;
+            this.content = content;
+            this.x = relativeTransform.x();
+            this.y = relativeTransform.y();
+            this.layer = relativeTransform.layer();
+            this.alpha = relativeTransform.alpha();
+            this.horizontalAlignment = relativeTransform.horizontalAlignment();
+            this.verticalAlignment = relativeTransform.verticalAlignment();
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+            this.listener = listener;
+            this.relativeTransform = relativeTransform;
         }
 
         /**
@@ -402,5 +651,315 @@ public abstract class PacketComponent {
             tickableRefs.add(qualifiedRef);
             return this;
         }
+
+        // --- Setters ---
+
+        /** Sets the text of a text element. */
+        public ElementHandle text(String text) {
+            requireType(ElementType.TEXT);
+            return content(text);
+        }
+
+        /** Sets the texture of a texture or button element. */
+        public ElementHandle textureId(String textureId) {
+            if (type != ElementType.BUTTON) requireType(ElementType.TEXTURE);
+            return content(textureId);
+        }
+
+        /** Sets whose head a head element renders. */
+        public ElementHandle headUuid(String headUuid) {
+            requireType(ElementType.HEAD);
+            return content(headUuid);
+        }
+
+        /** Sets who a player bust element renders. */
+        public ElementHandle identifier(String identifier) {
+            requireType(ElementType.PLAYER);
+            return content(identifier);
+        }
+
+        /** Horizontal position relative to the component. */
+        public ElementHandle x(float x) {
+            if (this.x != x) {
+                this.x = x;
+                transformChanged(FIELD_X);
+            }
+            return this;
+        }
+
+        /** Vertical position relative to the component. */
+        public ElementHandle y(float y) {
+            if (this.y != y) {
+                this.y = y;
+                transformChanged(FIELD_Y);
+            }
+            return this;
+        }
+
+        public ElementHandle position(float x, float y) {
+            return x(x).y(y);
+        }
+
+        public ElementHandle layer(int layer) {
+            if (this.layer != layer) {
+                this.layer = layer;
+                transformChanged(FIELD_LAYER);
+            }
+            return this;
+        }
+
+        public ElementHandle alpha(float alpha) {
+            if (this.alpha != alpha) {
+                this.alpha = alpha;
+                transformChanged(FIELD_ALPHA);
+            }
+            return this;
+        }
+
+        public ElementHandle align(HorizontalAlignment horizontal, VerticalAlignment vertical) {
+            if (horizontalAlignment != horizontal || verticalAlignment != vertical) {
+                this.horizontalAlignment = horizontal;
+                this.verticalAlignment = vertical;
+                transformChanged(FIELD_ALIGNMENT);
+            }
+            return this;
+        }
+
+        /** Replaces the whole relative transform at once. */
+        public ElementHandle transform(MenuTransform t) {
+            return position(t.x(), t.y()).layer(t.layer()).alpha(t.alpha())
+                    .align(t.horizontalAlignment(), t.verticalAlignment());
+        }
+
+        /** Width of any element but text. Buttons round down to whole pixels. */
+        public ElementHandle width(float width) {
+            requireSized();
+            if (type == ElementType.BUTTON) width = (int) width;
+            if (this.width != width) {
+                this.width = width;
+                changed(FIELD_WIDTH);
+            }
+            return this;
+        }
+
+        /** Height of any element but text. Buttons round down to whole pixels. */
+        public ElementHandle height(float height) {
+            requireSized();
+            if (type == ElementType.BUTTON) height = (int) height;
+            if (this.height != height) {
+                this.height = height;
+                changed(FIELD_HEIGHT);
+            }
+            return this;
+        }
+
+        public ElementHandle size(float width, float height) {
+            return width(width).height(height);
+        }
+
+        /** Scale of a text element. */
+        public ElementHandle scale(float scale) {
+            requireType(ElementType.TEXT);
+            if (this.scale != scale) {
+                this.scale = scale;
+                changed(FIELD_SCALE);
+            }
+            return this;
+        }
+
+        /** Replaces a button's click and hover handler. */
+        public ElementHandle listener(ButtonListener listener) {
+            requireType(ElementType.BUTTON);
+            if (this.listener != listener) {
+                this.listener = listener;
+                if (listener != null) {
+                    buttonListeners.put(qualifiedRef, listener);
+                } else {
+                    buttonListeners.remove(qualifiedRef);
+                }
+                changed(FIELD_LISTENER);
+            }
+            return this;
+        }
+
+        // --- Accessors ---
+
+        /** The reference as passed to the builder. */
+        public String getReference() { return reference; }
+
+        /** The reference as the client knows it, prefixed with the component id. */
+        public String getQualifiedReference() { return qualifiedRef; }
+
+        public ElementType getType() { return type; }
+
+        /** The text, texture id, head UUID or player identifier, depending on the type. */
+        public String getContent() { return content; }
+
+        public float getX() { return x; }
+        public float getY() { return y; }
+
+        /** Horizontal position on screen, with the component's own offset applied. */
+        public float getAbsoluteX() { return transform.x() + x; }
+
+        /** Vertical position on screen, with the component's own offset applied. */
+        public float getAbsoluteY() { return transform.y() + y; }
+
+        public int getLayer() { return layer; }
+        public float getAlpha() { return alpha; }
+        public HorizontalAlignment getHorizontalAlignment() { return horizontalAlignment; }
+        public VerticalAlignment getVerticalAlignment() { return verticalAlignment; }
+        public float getWidth() { return width; }
+        public float getHeight() { return height; }
+        public float getScale() { return scale; }
+        public ButtonListener getListener() { return listener; }
+
+        public boolean isTickable() {
+            return tickableRefs.contains(qualifiedRef);
+        }
+
+        /** Whether the element has changed since the manager last cleared it. */
+        public boolean isDirty() {
+            return dirtyFields != 0;
+        }
+
+        /** Whether any of the fields in {@code fieldMask} have changed since the last clear. */
+        public boolean isDirty(int fieldMask) {
+            return (dirtyFields & fieldMask) != 0;
+        }
+
+        /**
+         * The {@code FIELD_*} bits that have changed since the manager last cleared the element —
+         * the mask of a delta carrying only those fields.
+         */
+        public int getDirtyFields() {
+            return dirtyFields;
+        }
+
+        /** The element's current values as a record, built only when something has changed. */
+        public ElementData data() {
+            ElementData snapshot = data;
+            if (snapshot == null) {
+                MenuTransform t = relativeTransform();
+                snapshot = switch (type) {
+                    case TEXTURE -> new ElementData.TextureData(content, t, width, height);
+                    case HEAD -> new ElementData.HeadData(content, t, width, height);
+                    case PLAYER -> new ElementData.PlayerData(content, t, width, height);
+                    case BUTTON -> new ElementData.ButtonData(content, t, (int) width, (int) height, listener);
+                    case TEXT -> new ElementData.TextData(content, t, scale);
+                };
+                data = snapshot;
+            }
+            return snapshot;
+        }
+
+        /** The position, layer, opacity and alignment relative to the component. */
+        public MenuTransform relativeTransform() {
+            MenuTransform t = relativeTransform;
+            if (t == null) {
+                t = new MenuTransform(x, y, layer, alpha, horizontalAlignment, verticalAlignment);
+                relativeTransform = t;
+            }
+            return t;
+        }
+
+        // --- Internals ---
+
+        void set(ElementData data) {
+            transform(data.relativeTransform());
+            if (data instanceof ElementData.TextureData d) {
+                content(d.textureId()).size(d.width(), d.height());
+            } else if (data instanceof ElementData.HeadData d) {
+                content(d.headUuid()).size(d.width(), d.height());
+            } else if (data instanceof ElementData.PlayerData d) {
+                content(d.identifier()).size(d.width(), d.height());
+            } else if (data instanceof ElementData.ButtonData d) {
+                content(d.textureId()).size(d.width(), d.height()).listener(d.listener());
+            } else if (data instanceof ElementData.TextData d) {
+                content(d.text()).scale(d.scale());
+            }
+        }
+
+        private ElementHandle content(String content) {
+            if (!Objects.equals(this.content, content)) {
+                this.content = content;
+                changed(FIELD_CONTENT);
+            }
+            return this;
+        }
+
+        private void transformChanged(int field) {
+            relativeTransform = null;
+            changed(field);
+        }
+
+        private void changed(int field) {
+            data = null;
+            if (dirtyFields == 0) {
+                dirtyHandles.add(this);
+            }
+            dirtyFields |= field;
+        }
+
+        private void requireType(ElementType expected) {
+            if (type != expected) {
+                throw new IllegalStateException("Element " + qualifiedRef + " is " + type + ", not " + expected);
+            }
+        }
+
+        private void requireSized() {
+            if (type == ElementType.TEXT) {
+                throw new IllegalStateException("Element " + qualifiedRef + " is TEXT and has no size; use scale()");
+            }
+        }
+    }
+
+    /**
+     * Read-only map over the handles, so {@link #getElements()} keeps returning records without a
+     * second map to keep in step.
+     */
+    private final class ElementView extends AbstractMap<String, ElementData> {
+
+        @Override
+        public ElementData get(Object key) {
+            ElementHandle handle = handles.get(key);
+            return handle == null ? null : handle.data();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return handles.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return handles.size();
+        }
+
+        @Override
+        public Set<Entry<String, ElementData>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, ElementData>> iterator() {
+                    Iterator<ElementHandle> it = handles.values().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, ElementData> next() {
+                            ElementHandle handle = it.next();
+                            return Map.entry(handle.qualifiedRef, handle.data());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return handles.size();
+                }
+            };
+        }
     }
 }
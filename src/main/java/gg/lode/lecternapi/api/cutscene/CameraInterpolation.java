@@ -1,7 +1,14 @@
 package gg.lode.lecternapi.api.cutscene;
 
+/**
+ * How the camera moves between the waypoints of a {@link CameraPath}. The client draws the curve;
+ * {@link CameraPath#sample(double)} is the server's model of it.
+ */
 public enum CameraInterpolation {
+    /** Straight lines between waypoints. */
     LINEAR,
+    /** A Catmull-Rom spline through the waypoints. */
     CATMULL_ROM,
+    /** Cubic Bézier segments between waypoints. */
     CUBIC_BEZIER
 }
@@ -1,12 +1,27 @@
 package gg.lode.lecternapi.api.cutscene;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public final class CameraPath {
 
+    // Longest run of waypoints simplified() will fold into a single segment
+    private static final int MAX_SIMPLIFY_SPAN = 64;
+    // Segments shorter than this are holds: the camera turns in place, and keeps its timing
+    private static final double STATIONARY = 1.0E-4;
+    // How far a degree of turn weighs against blocks of travel: segments that turn more than they
+    // move keep their timing when retimed, so a pan is not squeezed into a cut
+    private static final double BLOCKS_PER_DEGREE = 1.0 / 16;
+
     private final List<CameraWaypoint> waypoints;
     private final CameraInterpolation interpolation;
+    // Built on first sample; immutable, so a race only builds it twice
+    private CameraSpline spline;
 
     public CameraPath(List<CameraWaypoint> waypoints, CameraInterpolation interpolation) {
         this.waypoints = Collections.unmodifiableList(waypoints);
@@ -20,4 +35,361 @@ public final class CameraPath {
     public CameraInterpolation getInterpolation() {
         return interpolation;
     }
+
+    // --- Sampling ---
+
+    /**
+     * Where the camera is at {@code tick}, by the server's own model of the path. Before the first
+     * waypoint and after the last the camera holds there, and waypoints sharing a tick are a cut:
+     * from that tick the camera carries on from the last of them.
+     * <p>
+     * The curve is drawn by the client, and nothing here pins down its exact shape between
+     * waypoints — see {@link CameraInterpolation}. The model passes through every waypoint at its
+     * tick and follows the named interpolation, so it is close; allow some slack, such as a chunk
+     * of radius, rather than relying on it to the block.
+     * <p>
+     * The segment table is built on the first call and kept; after that a sample is a binary
+     * search over waypoint ticks and one cubic, so calling this every tick for every viewer is
+     * cheap. Use {@link #sample(double, double[])} to skip the returned object as well.
+     *
+     * @param tick the cutscene tick, fractional for positions between ticks
+     * @return the camera's position and rotation, with yaw in [-180, 180) and {@code tick}
+     *         rounded down
+     * @throws IllegalStateException if the path has several waypoints but no {@linkplain
+     *         #isTimed() timing}, so there is no telling where the camera is at any tick
+     */
+    public CameraWaypoint sample(double tick) {
+        double[] out = new double[CameraSpline.COMPONENTS];
+        sample(tick, out);
+        return new CameraWaypoint(out[CameraSpline.X], out[CameraSpline.Y], out[CameraSpline.Z],
+                (float) out[CameraSpline.YAW], (float) out[CameraSpline.PITCH], (float) out[CameraSpline.ROLL],
+                (int) Math.floor(tick));
+    }
+
+    /**
+     * Allocation-free form of {@link #sample(double)}: writes {@code x, y, z, yaw, pitch, roll}
+     * into the first six slots of {@code out}.
+     */
+    public void sample(double tick, double[] out) {
+        requireTiming();
+        CameraSpline spline = spline();
+        spline.evaluate(tick, out);
+        out[CameraSpline.YAW] = CameraSpline.wrapDegrees(out[CameraSpline.YAW]);
+        out[CameraSpline.ROLL] = CameraSpline.wrapDegrees(out[CameraSpline.ROLL]);
+    }
+
+    /**
+     * Whether the waypoints are spread over more than one tick. A path built only from
+     * {@link Cutscene.CameraPathBuilder#waypoint(Vec, float, float, float) tick-less waypoints}
+     * has them all on tick 0: the server cannot tell when the camera reaches each one, so it
+     * cannot {@link #sample} the path, sweep its chunks, retime or simplify it.
+     */
+    public boolean isTimed() {
+        return spline().isTimed();
+    }
+
+    /** Whether the camera's place at any tick is known: timed, or never more than one waypoint. */
+    boolean isSampleable() {
+        return waypoints.size() <= 1 || isTimed();
+    }
+
+    private void requireTiming() {
+        if (!isSampleable()) {
+            throw new IllegalStateException("Camera path has no timing: all " + waypoints.size()
+                    + " waypoints are on tick " + getStartTick());
+        }
+    }
+
+    /** The tick of the first waypoint, or 0 for an empty path. */
+    public int getStartTick() {
+        return waypoints.isEmpty() ? 0 : waypoints.get(0).tick();
+    }
+
+    /** The tick of the last waypoint, or 0 for an empty path. */
+    public int getEndTick() {
+        return waypoints.isEmpty() ? 0 : waypoints.get(waypoints.size() - 1).tick();
+    }
+
+    /**
+     * Every chunk within {@code radius} chunks of the camera between two ticks, in the order the
+     * camera first comes within range of it — the order to send them in so terrain arrives ahead
+     * of the camera rather than behind it.
+     * <p>
+     * The path is sampled at least once a tick, and more often where the camera moves faster than
+     * half a chunk a tick, so a fast dolly cannot skip a chunk between samples.
+     *
+     * @param fromTick first tick of the window
+     * @param toTick   last tick of the window, inclusive
+     * @param radius   chunks around the camera's own chunk, as a square; 0 for just that chunk
+     * @return chunk keys in Paper's {@code Chunk.getChunkKey} layout — x in the low 32 bits, z in
+     *         the high 32
+     * @throws IllegalStateException if the path has several waypoints but no {@linkplain
+     *         #isTimed() timing}
+     */
+    public long[] sweptChunks(int fromTick, int toTick, int radius) {
+        requireTiming();
+        if (waypoints.isEmpty() || toTick < fromTick) return new long[0];
+        int r = Math.max(0, radius);
+        CameraSpline spline = spline();
+        Set<Long> chunks = new LinkedHashSet<>();
+        double[] at = new double[CameraSpline.COMPONENTS];
+        double[] previous = new double[CameraSpline.COMPONENTS];
+
+        spline.evaluate(fromTick, previous);
+        addChunks(chunks, previous, r);
+        for (int tick = fromTick + 1; tick <= toTick; tick++) {
+            spline.evaluate(tick, at);
+            int steps = (int) Math.ceil(CameraSpline.distance(previous, at) / 8);
+            for (int step = 1; step < steps; step++) {
+                spline.evaluate(tick - 1 + (double) step / steps, previous);
+                addChunks(chunks, previous, r);
+            }
+            addChunks(chunks, at, r);
+            double[] swap = previous;
+            previous = at;
+            at = swap;
+        }
+
+        long[] keys = new long[chunks.size()];
+        int i = 0;
+        for (long key : chunks) {
+            keys[i++] = key;
+        }
+        return keys;
+    }
+
+    /** Packs chunk coordinates the way Paper's {@code Chunk.getChunkKey(int, int)} does. */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX & 0xFFFFFFFFL) | (((long) chunkZ & 0xFFFFFFFFL) << 32);
+    }
+
+    private static void addChunks(Set<Long> chunks, double[] at, int radius) {
+        int centerX = (int) Math.floor(at[CameraSpline.X]) >> 4;
+        int centerZ = (int) Math.floor(at[CameraSpline.Z]) >> 4;
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                chunks.add(chunkKey(centerX + dx, centerZ + dz));
+            }
+        }
+    }
+
+    private CameraSpline spline() {
+        CameraSpline built = spline;
+        if (built == null) {
+            built = new CameraSpline(waypoints, interpolation);
+            spline = built;
+        }
+        return built;
+    }
+
+    // --- Preprocessing ---
+
+    /**
+     * Retimes the waypoints so the camera travels at a constant speed along the curve.
+     * <p>
+     * Authored waypoints are rarely evenly spaced, and a spline passes through each one at the
+     * tick it was given, so a camera crosses a long gap quickly and crawls through a cluster.
+     * This measures each segment's length along the curve and hands out the path's travel time
+     * in proportion. The first and last ticks are kept, and so are the durations of segments
+     * where the camera mostly turns rather than travels — a hold, a pan, a cut — so deliberate
+     * pauses and pans survive. Every segment that travels keeps at least one tick, so retiming
+     * never turns a move into a cut.
+     *
+     * @return the retimed path, or this one if it has no timing or never travels
+     * @see #isTimed()
+     */
+    public CameraPath withConstantSpeed() {
+        CameraSpline spline = spline();
+        if (!spline.isTimed()) return this;
+
+        int n = spline.size();
+        double[] lengths = new double[n - 1];
+        boolean[] travels = new boolean[n - 1];
+        double travel = 0;
+        int travelSegments = 0;
+        int heldTicks = 0;
+        for (int i = 0; i < n - 1; i++) {
+            int duration = spline.tick(i + 1) - spline.tick(i);
+            lengths[i] = spline.segmentLength(i);
+            // Judged on the waypoints themselves, not the curve, which can swing out on a pan
+            // beside a long move
+            double[] from = spline.point(i);
+            double[] to = spline.point(i + 1);
+            travels[i] = duration > 0 && lengths[i] > STATIONARY
+                    && CameraSpline.distance(from, to) >= CameraSpline.turn(from, to) * BLOCKS_PER_DEGREE;
+            if (travels[i]) {
+                travel += lengths[i];
+                travelSegments++;
+            } else {
+                heldTicks += duration;
+            }
+        }
+        if (travelSegments == 0) return this;
+
+        // Each travelling segment had a tick of its own, so there are at least as many travel
+        // ticks as segments: one each, and the rest shared out by length
+        int first = spline.tick(0);
+        int spareTicks = spline.tick(n - 1) - first - heldTicks - travelSegments;
+        List<CameraWaypoint> retimed = new ArrayList<>(n);
+        retimed.add(waypoints.get(0));
+        double travelled = 0;
+        int travelledSegments = 0;
+        int held = 0;
+        for (int i = 0; i < n - 1; i++) {
+            if (travels[i]) {
+                travelled += lengths[i];
+                travelledSegments++;
+            } else {
+                held += spline.tick(i + 1) - spline.tick(i);
+            }
+            int tick = first + held + travelledSegments + (int) Math.round(spareTicks * (travelled / travel));
+            CameraWaypoint wp = waypoints.get(i + 1);
+            retimed.add(new CameraWaypoint(wp.x(), wp.y(), wp.z(), wp.yaw(), wp.pitch(), wp.roll(), tick));
+        }
+        return new CameraPath(retimed, interpolation);
+    }
+
+    /**
+     * Drops waypoints the curve does not need: each one whose removal keeps the camera within
+     * {@code positionTolerance} blocks and {@code angleTolerance} degrees of where it was, at
+     * every tick. A dense, hand-placed flyover typically loses most of its waypoints, which is
+     * that much less to send and to evaluate.
+     * <p>
+     * The first and last waypoints are always kept, and so is enough of a spin that no two kept
+     * waypoints are half a turn or more apart — the path is rebuilt from wrapped angles, so a
+     * wider gap would turn the short way round. Paths without timing are returned as they are,
+     * since there is no tick to compare them at.
+     *
+     * @param positionTolerance how far the camera may move from the original curve, in blocks
+     * @param angleTolerance    how far yaw, pitch or roll may turn from the original, in degrees
+     * @return the simplified path, or this one if nothing could be dropped
+     * @see #isTimed()
+     */
+    public CameraPath simplified(double positionTolerance, float angleTolerance) {
+        int n = waypoints.size();
+        if (n <= 2) return this;
+        CameraSpline original = spline();
+        if (!original.isTimed()) return this;
+
+        double[] expected = new double[CameraSpline.COMPONENTS];
+        double[] actual = new double[CameraSpline.COMPONENTS];
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        List<Integer> kept = new ArrayList<>();
+        kept.add(0);
+        int anchor = 0;
+        for (int candidate = 1; candidate < n - 1; candidate++) {
+            int end = candidate + 1;
+            int size = kept.size();
+            int previous = size > 1 ? kept.get(size - 2) : anchor;
+            int beforePrevious = size > 2 ? kept.get(size - 3) : previous;
+            boolean droppable = end - anchor <= MAX_SIMPLIFY_SPAN
+                    // The segment leading in bends towards the new neighbour, so it has to hold up too
+                    && fits(original, beforePrevious, previous, anchor, end, positionTolerance, angleTolerance, expected, actual)
+                    && fits(original, previous, anchor, end, Math.min(n - 1, end + 1), positionTolerance, angleTolerance, expected, actual);
+            if (!droppable) {
+                kept.add(candidate);
+                keep[candidate] = true;
+                anchor = candidate;
+            }
+        }
+
+        // A gap also changes the neighbours of the segments either side of it, and the greedy pass
+        // does not revisit every one of those. Check each final segment against its final
+        // neighbours and, where one drifts, put back a single waypoint — from its own gap, else
+        // from a neighbour's — then recheck only the segments that waypoint borders. A segment with
+        // nothing left to put back is the original curve, so this ends.
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        int last = -1;
+        for (int i = 0; i < n; i++) {
+            if (!keep[i]) continue;
+            prev[i] = last < 0 ? i : last;
+            if (last >= 0) next[last] = i;
+            last = i;
+        }
+        next[last] = last;
+
+        Deque<Integer> pending = new ArrayDeque<>();
+        boolean[] queued = new boolean[n];
+        for (int i = 0; i < n - 1; i++) {
+            if (keep[i]) enqueue(pending, queued, i, n);
+        }
+        while (!pending.isEmpty()) {
+            int from = pending.poll();
+            queued[from] = false;
+            int to = next[from];
+            if (fits(original, prev[from], from, to, next[to], positionTolerance, angleTolerance, expected, actual)) continue;
+
+            int restore;
+            if (to - from > 1) restore = (from + to) >>> 1;
+            else if (from - prev[from] > 1) restore = from - 1;
+            else if (next[to] - to > 1) restore = to + 1;
+            else continue;
+
+            int before = restore - 1;
+            while (!keep[before]) before--;
+            int after = next[before];
+            keep[restore] = true;
+            prev[restore] = before;
+            next[restore] = after;
+            next[before] = restore;
+            prev[after] = restore;
+            // Every segment whose window of four waypoints now includes the restored one
+            enqueue(pending, queued, prev[before], n);
+            enqueue(pending, queued, before, n);
+            enqueue(pending, queued, restore, n);
+            enqueue(pending, queued, after, n);
+        }
+
+        List<CameraWaypoint> simplified = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) simplified.add(waypoints.get(i));
+        }
+        if (simplified.size() == n) return this;
+        return new CameraPath(simplified, interpolation);
+    }
+
+    private static void enqueue(Deque<Integer> pending, boolean[] queued, int from, int n) {
+        if (from < n - 1 && !queued[from]) {
+            queued[from] = true;
+            pending.add(from);
+        }
+    }
+
+    /**
+     * {@link #withConstantSpeed()} then {@link #simplified(double, float)} — the usual way to
+     * prepare a long authored path before it is sent.
+     */
+    public CameraPath optimized(double positionTolerance, float angleTolerance) {
+        return withConstantSpeed().simplified(positionTolerance, angleTolerance);
+    }
+
+    /**
+     * Whether the segment from waypoint {@code i1} to {@code i2}, with {@code i0} and {@code i3}
+     * as its neighbours, stays within tolerance of the original curve at every tick it spans.
+     */
+    private static boolean fits(CameraSpline original, int i0, int i1, int i2, int i3,
+                                double positionTolerance, float angleTolerance,
+                                double[] expected, double[] actual) {
+        int from = original.tick(i1);
+        int to = original.tick(i2);
+        if (to <= from) return i2 - i1 <= 1;
+        // The simplified path re-wraps each gap the short way round, so a merged span that turns
+        // half a circle or more would come back turning the other way
+        if (i2 - i1 > 1 && CameraSpline.turn(original.point(i1), original.point(i2)) >= 180) return false;
+
+        for (int tick = from; tick <= to; tick++) {
+            original.evaluate(tick, expected);
+            CameraSpline.interpolate(original.interpolation(),
+                    original.point(i0), original.point(i1), original.point(i2), original.point(i3),
+                    (double) (tick - from) / (to - from), actual);
+            if (CameraSpline.distance(expected, actual) > positionTolerance
+                    || CameraSpline.angleDifference(expected, actual) > angleTolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
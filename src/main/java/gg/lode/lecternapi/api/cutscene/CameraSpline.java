@@ -0,0 +1,235 @@
+package gg.lode.lecternapi.api.cutscene;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The server's model of the curve a {@link CameraPath} describes.
+ * <p>
+ * {@code LINEAR} and {@code CATMULL_ROM} are the textbook forms — a uniform Catmull-Rom with the
+ * end waypoints repeated. A {@code CUBIC_BEZIER} path carries no control points, so the handles
+ * are derived here: along the direction through each waypoint's neighbours, a third of the chord
+ * long, with rotation on the Catmull-Rom curve. That is this evaluator's choice, not something
+ * the wire format fixes, and the client may bend differently between waypoints.
+ * <p>
+ * Waypoints are flattened into arrays once, with yaw, pitch and roll unwrapped so that a turn
+ * from 170 to -170 degrees goes the short way round rather than back through zero. Evaluation
+ * writes into a caller's array — {@code x, y, z, yaw, pitch, roll} — and allocates nothing.
+ */
+final class CameraSpline {
+
+    static final int X = 0;
+    static final int Y = 1;
+    static final int Z = 2;
+    static final int YAW = 3;
+    static final int PITCH = 4;
+    static final int ROLL = 5;
+    static final int COMPONENTS = 6;
+
+    // Steps per segment when measuring its length by summing chords
+    private static final int LENGTH_STEPS = 16;
+
+    private final CameraInterpolation interpolation;
+    private final int[] ticks;
+    private final double[][] points;
+
+    CameraSpline(List<CameraWaypoint> waypoints, CameraInterpolation interpolation) {
+        this.interpolation = interpolation == null ? CameraInterpolation.CATMULL_ROM : interpolation;
+        int n = waypoints.size();
+        this.ticks = new int[n];
+        this.points = new double[n][COMPONENTS];
+        for (int i = 0; i < n; i++) {
+            CameraWaypoint wp = waypoints.get(i);
+            ticks[i] = wp.tick();
+            double[] p = points[i];
+            p[X] = wp.x();
+            p[Y] = wp.y();
+            p[Z] = wp.z();
+            p[YAW] = wp.yaw();
+            p[PITCH] = wp.pitch();
+            p[ROLL] = wp.roll();
+            if (i > 0) {
+                double[] prev = points[i - 1];
+                p[YAW] = prev[YAW] + wrapDegrees(p[YAW] - prev[YAW]);
+                p[PITCH] = prev[PITCH] + wrapDegrees(p[PITCH] - prev[PITCH]);
+                p[ROLL] = prev[ROLL] + wrapDegrees(p[ROLL] - prev[ROLL]);
+            }
+        }
+    }
+
+    int size() {
+        return ticks.length;
+    }
+
+    int tick(int index) {
+        return ticks[index];
+    }
+
+    double[] point(int index) {
+        return points[index];
+    }
+
+    CameraInterpolation interpolation() {
+        return interpolation;
+    }
+
+    /** Whether the waypoints carry timing at all, rather than all sitting on one tick. */
+    boolean isTimed() {
+        return ticks.length > 1 && ticks[ticks.length - 1] > ticks[0];
+    }
+
+    /**
+     * The segment a tick falls in: the last waypoint at or before it, kept short of the final
+     * waypoint so there is always a next one to interpolate towards.
+     */
+    int segmentAt(double tick) {
+        int lo = 0;
+        int hi = ticks.length - 2;
+        if (hi <= 0 || tick < ticks[1]) return 0;
+        if (tick >= ticks[hi]) return hi;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (ticks[mid] <= tick) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /** Evaluates the camera at a tick, holding the first and last waypoints outside the path. */
+    void evaluate(double tick, double[] out) {
+        int n = ticks.length;
+        if (n == 0) {
+            Arrays.fill(out, 0, COMPONENTS, 0);
+            return;
+        }
+        if (n == 1 || tick < ticks[0]) {
+            System.arraycopy(points[0], 0, out, 0, COMPONENTS);
+            return;
+        }
+        if (tick >= ticks[n - 1]) {
+            System.arraycopy(points[n - 1], 0, out, 0, COMPONENTS);
+            return;
+        }
+        int segment = segmentAt(tick);
+        int duration = ticks[segment + 1] - ticks[segment];
+        double t = duration <= 0 ? 1 : (tick - ticks[segment]) / duration;
+        evaluateSegment(segment, t, out);
+    }
+
+    /** Evaluates segment {@code i} (waypoint i to i + 1) at {@code t} in [0, 1]. */
+    void evaluateSegment(int i, double t, double[] out) {
+        int last = ticks.length - 1;
+        interpolate(interpolation,
+                points[Math.max(0, i - 1)], points[i], points[Math.min(last, i + 1)], points[Math.min(last, i + 2)],
+                t, out);
+    }
+
+    /** The positional length of segment {@code i}, measured along the curve. */
+    double segmentLength(int i) {
+        double[] a = new double[COMPONENTS];
+        double[] b = new double[COMPONENTS];
+        evaluateSegment(i, 0, a);
+        double length = 0;
+        for (int step = 1; step <= LENGTH_STEPS; step++) {
+            evaluateSegment(i, (double) step / LENGTH_STEPS, b);
+            length += distance(a, b);
+            double[] swap = a;
+            a = b;
+            b = swap;
+        }
+        return length;
+    }
+
+    /**
+     * Interpolates between {@code p1} and {@code p2}, with {@code p0} and {@code p3} the waypoints
+     * either side of them — the same waypoint repeated at either end of the path.
+     */
+    static void interpolate(CameraInterpolation interpolation, double[] p0, double[] p1, double[] p2, double[] p3,
+                            double t, double[] out) {
+        switch (interpolation) {
+            case LINEAR -> {
+                for (int c = 0; c < COMPONENTS; c++) {
+                    out[c] = p1[c] + (p2[c] - p1[c]) * t;
+                }
+            }
+            case CATMULL_ROM -> {
+                for (int c = 0; c < COMPONENTS; c++) {
+                    out[c] = catmullRom(p0[c], p1[c], p2[c], p3[c], t);
+                }
+            }
+            case CUBIC_BEZIER -> {
+                bezier(p0, p1, p2, p3, t, out);
+                for (int c = YAW; c < COMPONENTS; c++) {
+                    out[c] = catmullRom(p0[c], p1[c], p2[c], p3[c], t);
+                }
+            }
+        }
+    }
+
+    private static double catmullRom(double p0, double p1, double p2, double p3, double t) {
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return 0.5 * (2 * p1
+                + (p2 - p0) * t
+                + (2 * p0 - 5 * p1 + 4 * p2 - p3) * t2
+                + (3 * p1 - p0 - 3 * p2 + p3) * t3);
+    }
+
+    /**
+     * Cubic Bézier from p1 to p2 whose handles follow the direction through each end's neighbours
+     * and reach a third of the chord — so a short segment next to a long one does not overshoot.
+     */
+    private static void bezier(double[] p0, double[] p1, double[] p2, double[] p3, double t, double[] out) {
+        double chord = Math.sqrt(squared(p2[X] - p1[X]) + squared(p2[Y] - p1[Y]) + squared(p2[Z] - p1[Z])) / 3;
+        double outLength = Math.sqrt(squared(p2[X] - p0[X]) + squared(p2[Y] - p0[Y]) + squared(p2[Z] - p0[Z]));
+        double inLength = Math.sqrt(squared(p3[X] - p1[X]) + squared(p3[Y] - p1[Y]) + squared(p3[Z] - p1[Z]));
+        double outScale = outLength == 0 ? 0 : chord / outLength;
+        double inScale = inLength == 0 ? 0 : chord / inLength;
+
+        double u = 1 - t;
+        double b0 = u * u * u;
+        double b1 = 3 * u * u * t;
+        double b2 = 3 * u * t * t;
+        double b3 = t * t * t;
+        for (int c = X; c <= Z; c++) {
+            double h1 = p1[c] + (p2[c] - p0[c]) * outScale;
+            double h2 = p2[c] - (p3[c] - p1[c]) * inScale;
+            out[c] = b0 * p1[c] + b1 * h1 + b2 * h2 + b3 * p2[c];
+        }
+    }
+
+    static double distance(double[] a, double[] b) {
+        return Math.sqrt(squared(a[X] - b[X]) + squared(a[Y] - b[Y]) + squared(a[Z] - b[Z]));
+    }
+
+    /** The largest change in yaw, pitch or roll from {@code a} to {@code b}, unwrapped, in degrees. */
+    static double turn(double[] a, double[] b) {
+        double yaw = Math.abs(b[YAW] - a[YAW]);
+        double pitch = Math.abs(b[PITCH] - a[PITCH]);
+        double roll = Math.abs(b[ROLL] - a[ROLL]);
+        return Math.max(yaw, Math.max(pitch, roll));
+    }
+
+    /** The largest difference in yaw, pitch or roll, in degrees the short way round. */
+    static double angleDifference(double[] a, double[] b) {
+        double yaw = Math.abs(wrapDegrees(a[YAW] - b[YAW]));
+        double pitch = Math.abs(wrapDegrees(a[PITCH] - b[PITCH]));
+        double roll = Math.abs(wrapDegrees(a[ROLL] - b[ROLL]));
+        return Math.max(yaw, Math.max(pitch, roll));
+    }
+
+    /** Wraps an angle into [-180, 180). */
+    static double wrapDegrees(double degrees) {
+        double wrapped = degrees % 360;
+        if (wrapped >= 180) wrapped -= 360;
+        if (wrapped < -180) wrapped += 360;
+        return wrapped;
+    }
+
+    private static double squared(double v) {
+        return v * v;
+    }
+}
@@ -3,11 +3,22 @@ package gg.lode.lecternapi.api.cutscene;
 import gg.lode.lecternapi.api.menu.MenuTransform;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.function.Consumer;
 
 public final class Cutscene {
 
+    /** Ticks between seek snapshots unless the builder says otherwise. */
+    public static final int DEFAULT_SEEK_INTERVAL = 40;
+
     private final String id;
     private final List<CutsceneAction> actions;
     private final @Nullable CameraPath cameraPath;
@@ -15,10 +26,15 @@ public final class Cutscene {
     private final boolean loop;
     private final Map<Integer, Runnable> callbacks;
     private final @Nullable Runnable onComplete;
+    private final long contentHash;
+    private final CutsceneState.Index seekIndex;
+    private final int preloadLookaheadTicks;
+    private final int preloadRadius;
 
     private Cutscene(String id, List<CutsceneAction> actions, @Nullable CameraPath cameraPath,
                      int totalDurationTicks, boolean loop,
-                     Map<Integer, Runnable> callbacks, @Nullable Runnable onComplete) {
+                     Map<Integer, Runnable> callbacks, @Nullable Runnable onComplete,
+                     int seekInterval, int preloadLookaheadTicks, int preloadRadius) {
         this.id = id;
         this.actions = Collections.unmodifiableList(actions);
         this.cameraPath = cameraPath;
@@ -26,6 +42,10 @@ public final class Cutscene {
         this.loop = loop;
         this.callbacks = Collections.unmodifiableMap(callbacks);
         this.onComplete = onComplete;
+        this.contentHash = hash(this.actions, cameraPath, totalDurationTicks, loop);
+        this.seekIndex = new CutsceneState.Index(this.actions, totalDurationTicks, seekInterval);
+        this.preloadLookaheadTicks = preloadLookaheadTicks;
+        this.preloadRadius = preloadRadius;
     }
 
     public String getId() { return id; }
@@ -36,10 +56,185 @@ public final class Cutscene {
     public Map<Integer, Runnable> getCallbacks() { return callbacks; }
     public @Nullable Runnable getOnComplete() { return onComplete; }
 
+    /**
+     * A fingerprint of everything the client plays — actions, camera path, duration, looping —
+     * computed once when the cutscene is built.
+     * <p>
+     * This is the key a client caches a cutscene's compiled timeline under. Two cutscenes that
+     * would play identically share a hash whatever their ids, and any edit that changes playback
+     * changes it; server-side callbacks are not part of it beyond where their markers sit.
+     */
+    public long getContentHash() { return contentHash; }
+
+    /**
+     * The state every action before {@code tick} adds up to — what a seek to that tick sends.
+     * Looked up from snapshots taken at build time, so the cost depends on the seek interval
+     * rather than on how long the cutscene is or how far in the tick is.
+     */
+    public CutsceneState stateAt(int tick) { return seekIndex.stateAt(tick); }
+
+    /** How far ahead of the camera chunks are sent, in ticks; 0 when preloading is off. */
+    public int getPreloadLookaheadTicks() { return preloadLookaheadTicks; }
+
+    /** The chunk radius around the camera that is preloaded. */
+    public int getPreloadRadius() { return preloadRadius; }
+
+    /** Whether chunks along the camera path are sent ahead of it. */
+    public boolean hasChunkPreload() {
+        return cameraPath != null && cameraPath.isSampleable() && preloadLookaheadTicks > 0;
+    }
+
     public static Builder builder(String id) {
         return new Builder(id);
     }
 
+    private static long hash(List<CutsceneAction> actions, @Nullable CameraPath cameraPath,
+                             int totalDurationTicks, boolean loop) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            out.writeInt(totalDurationTicks);
+            out.writeBoolean(loop);
+            out.writeInt(actions.size());
+            for (CutsceneAction action : actions) {
+                writeAction(out, action);
+            }
+            out.writeBoolean(cameraPath != null);
+            if (cameraPath != null) {
+                writeString(out, String.valueOf(cameraPath.getInterpolation()));
+                out.writeInt(cameraPath.getWaypoints().size());
+                for (CameraWaypoint wp : cameraPath.getWaypoints()) {
+                    out.writeDouble(wp.x());
+                    out.writeDouble(wp.y());
+                    out.writeDouble(wp.z());
+                    out.writeFloat(wp.yaw());
+                    out.writeFloat(wp.pitch());
+                    out.writeFloat(wp.roll());
+                    out.writeInt(wp.tick());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] bytes = digest.digest();
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (bytes[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    private static void writeAction(DataOutputStream out, CutsceneAction action) throws IOException {
+        writeString(out, action.getClass().getSimpleName());
+        out.writeInt(action.tick());
+        switch (action) {
+            case CutsceneAction.ShowTexture a -> {
+                writeString(out, a.ref());
+                writeString(out, a.textureId());
+                writeTransform(out, a.transform());
+                out.writeInt(a.width());
+                out.writeInt(a.height());
+            }
+            case CutsceneAction.HideTexture a -> writeString(out, a.ref());
+            case CutsceneAction.ShowText a -> {
+                writeString(out, a.ref());
+                writeString(out, a.text());
+                writeTransform(out, a.transform());
+                out.writeFloat(a.scale());
+                writeString(out, a.textAlign());
+            }
+            case CutsceneAction.HideText a -> writeString(out, a.ref());
+            case CutsceneAction.ShowHead a -> {
+                writeString(out, a.ref());
+                writeString(out, String.valueOf(a.headUuid()));
+                writeTransform(out, a.transform());
+                out.writeInt(a.width());
+                out.writeInt(a.height());
+            }
+            case CutsceneAction.HideHead a -> writeString(out, a.ref());
+            case CutsceneAction.ShowPlayer a -> {
+                writeString(out, a.ref());
+                writeString(out, a.identifier());
+                writeTransform(out, a.transform());
+                out.writeInt(a.width());
+                out.writeInt(a.height());
+            }
+            case CutsceneAction.HidePlayer a -> writeString(out, a.ref());
+            case CutsceneAction.SetLetterbox a -> out.writeBoolean(a.enabled());
+            case CutsceneAction.SetHudHidden a -> out.writeBoolean(a.hidden());
+            case CutsceneAction.Flash a -> {
+                out.writeInt(a.r());
+                out.writeInt(a.g());
+                out.writeInt(a.b());
+                out.writeInt(a.a());
+                out.writeInt(a.layer());
+                out.writeFloat(a.durIn());
+                out.writeFloat(a.durStay());
+                out.writeFloat(a.durOut());
+            }
+            case CutsceneAction.SetMotionBlur a -> out.writeBoolean(a.enabled());
+            case CutsceneAction.PlaySound a -> {
+                writeString(out, a.soundId());
+                out.writeFloat(a.volume());
+                out.writeFloat(a.pitch());
+            }
+            case CutsceneAction.SetInputDisabled a -> out.writeBoolean(a.disabled());
+            case CutsceneAction.SetCamera a -> {
+                out.writeDouble(a.x());
+                out.writeDouble(a.y());
+                out.writeDouble(a.z());
+                out.writeFloat(a.yaw());
+                out.writeFloat(a.pitch());
+                out.writeFloat(a.roll());
+            }
+            case CutsceneAction.ReleaseCamera a -> { }
+            case CutsceneAction.SetFov a -> out.writeFloat(a.fov());
+            case CutsceneAction.ResetFov a -> { }
+            case CutsceneAction.CallbackMarker a -> out.writeInt(a.callbackId());
+            case CutsceneAction.AnimateComponent a -> {
+                writeString(out, a.ref());
+                out.writeInt(a.durationTicks());
+                out.writeInt(a.easingType());
+                out.writeFloat(a.bz0());
+                out.writeFloat(a.bz1());
+                out.writeFloat(a.bz2());
+                out.writeFloat(a.bz3());
+                out.writeFloat(a.targetX());
+                out.writeFloat(a.targetY());
+                out.writeInt(a.targetLayer());
+                out.writeFloat(a.targetAlpha());
+                out.writeInt(a.targetWidth());
+                out.writeInt(a.targetHeight());
+                out.writeFloat(a.targetScale());
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeTransform(DataOutputStream out, MenuTransform transform) throws IOException {
+        out.writeFloat(transform.x());
+        out.writeFloat(transform.y());
+        out.writeInt(transform.layer());
+        out.writeFloat(transform.alpha());
+        writeString(out, String.valueOf(transform.horizontalAlignment()));
+        writeString(out, String.valueOf(transform.verticalAlignment()));
+    }
+
     public static final class Builder {
         private final String id;
         private int cursor = 0;
@@ -49,6 +244,9 @@ public final class Cutscene {
         private int nextCallbackId = 0;
         private final Map<Integer, Runnable> callbacks = new HashMap<>();
         private Runnable onComplete;
+        private int seekInterval = DEFAULT_SEEK_INTERVAL;
+        private int preloadLookaheadTicks = 0;
+        private int preloadRadius = 0;
 
         private Builder(String id) {
             this.id = id;
@@ -192,6 +390,38 @@ public final class Cutscene {
             return this;
         }
 
+        /**
+         * Sends the chunks the camera path sweeps through ahead of the camera, so a flyover over
+         * terrain the viewer has not loaded shows ground rather than holes.
+         * <p>
+         * When the cutscene plays, the chunks within {@code radius} of the camera over the next
+         * {@code lookaheadTicks} are queued in the order the camera reaches them, and the window
+         * moves forward with playback. The queue drains at the manager's
+         * {@link gg.lode.lecternapi.api.manager.ICutsceneManager#setChunkPreloadRate(int) preload
+         * rate}, so a long path over a large map trickles out rather than arriving as one burst.
+         * Has no effect without a camera path, and needs one with {@linkplain CameraPath#isTimed()
+         * timing}: {@link #build()} rejects preloading along a path whose waypoints are all on one
+         * tick, since there is no telling where its camera will be.
+         *
+         * @param lookaheadTicks how far ahead of the camera to send; 0 turns preloading off
+         * @param radius         chunks around the camera's chunk; the viewer's view distance is a
+         *                       sensible ceiling
+         */
+        public Builder preloadChunks(int lookaheadTicks, int radius) {
+            this.preloadLookaheadTicks = Math.max(0, lookaheadTicks);
+            this.preloadRadius = Math.max(0, radius);
+            return this;
+        }
+
+        /**
+         * Ticks between the state snapshots {@link Cutscene#stateAt(int)} seeks from. Smaller
+         * makes seeks cheaper and the built cutscene larger; the default suits most lengths.
+         */
+        public Builder seekInterval(int ticks) {
+            this.seekInterval = Math.max(1, ticks);
+            return this;
+        }
+
         public Cutscene build() {
             actions.sort(Comparator.comparingInt(CutsceneAction::tick));
 
@@ -203,17 +433,29 @@ public final class Cutscene {
                 for (CameraWaypoint wp : cameraPath.getWaypoints()) {
                     if (wp.tick() > maxTick) maxTick = wp.tick();
                 }
+                if (preloadLookaheadTicks > 0 && !cameraPath.isSampleable()) {
+                    throw new IllegalStateException("Cutscene '" + id + "' preloads chunks along a camera path"
+                            + " with no timing; give its waypoints ticks");
+                }
             }
 
             return new Cutscene(id, new ArrayList<>(actions), cameraPath, maxTick, loop,
-                    new HashMap<>(callbacks), onComplete);
+                    new HashMap<>(callbacks), onComplete, seekInterval,
+                    preloadLookaheadTicks, preloadRadius);
         }
     }
 
     public static final class CameraPathBuilder {
         private final List<CameraWaypoint> waypoints = new ArrayList<>();
         private CameraInterpolation interpolation = CameraInterpolation.CATMULL_ROM;
-
+        private boolean constantSpeed = false;
+        private double positionTolerance = -1;
+        private float angleTolerance = -1;
+
+        /**
+         * Adds a waypoint on tick 0. A path made only of these has no {@linkplain
+         * CameraPath#isTimed() timing}, so the server cannot sample it.
+         */
         public CameraPathBuilder waypoint(Vec pos, float yaw, float pitch, float roll) {
             waypoints.add(new CameraWaypoint(pos.x(), pos.y(), pos.z(), yaw, pitch, roll, 0));
             return this;
@@ -229,9 +471,36 @@ public final class Cutscene {
             return this;
         }
 
+        /**
+         * Retimes the path for constant speed when built. See {@link CameraPath#withConstantSpeed()};
+         * the waypoints need ticks, or building fails.
+         */
+        public CameraPathBuilder constantSpeed() {
+            this.constantSpeed = true;
+            return this;
+        }
+
+        /**
+         * Drops redundant waypoints when built, within the given tolerances.
+         * See {@link CameraPath#simplified(double, float)}; the waypoints need ticks, or building
+         * fails.
+         */
+        public CameraPathBuilder simplify(double positionTolerance, float angleTolerance) {
+            this.positionTolerance = Math.max(0, positionTolerance);
+            this.angleTolerance = Math.max(0, angleTolerance);
+            return this;
+        }
+
         CameraPath build() {
             waypoints.sort(Comparator.comparingInt(CameraWaypoint::tick));
-            return new CameraPath(new ArrayList<>(waypoints), interpolation);
+            CameraPath path = new CameraPath(new ArrayList<>(waypoints), interpolation);
+            if ((constantSpeed || positionTolerance >= 0) && !path.isSampleable()) {
+                throw new IllegalStateException("Camera path cannot be retimed or simplified without timing;"
+                        + " give its waypoints ticks");
+            }
+            if (constantSpeed) path = path.withConstantSpeed();
+            if (positionTolerance >= 0) path = path.simplified(positionTolerance, angleTolerance);
+            return path;
         }
     }
 }
@@ -0,0 +1,186 @@
+package gg.lode.lecternapi.api.cutscene;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a cutscene has set up by a given tick: what is on screen, and what it has done to
+ * the player's view and controls.
+ * <p>
+ * This is what a seek sends. Rather than replaying every action before the target — a letterbox
+ * switched on and off a dozen times, texts shown and hidden — the client is handed the one state
+ * those actions add up to. One-off effects that leave nothing behind (flashes, sounds, callbacks)
+ * are not part of it, and neither are component animations: an animated element appears where its
+ * show action put it.
+ *
+ * <pre>{@code
+ * CutsceneState state = cutscene.stateAt(1200);
+ * if (state.isLetterbox()) { ... }
+ * }</pre>
+ */
+public final class CutsceneState {
+
+    private final int tick;
+    private final boolean letterbox;
+    private final boolean hudHidden;
+    private final boolean motionBlur;
+    private final boolean inputDisabled;
+    private final float fov;
+    private final @Nullable CutsceneAction.SetCamera camera;
+    private final Map<String, CutsceneAction.ShowTexture> textures;
+    private final Map<String, CutsceneAction.ShowText> texts;
+    private final Map<String, CutsceneAction.ShowHead> heads;
+    private final Map<String, CutsceneAction.ShowPlayer> players;
+
+    private CutsceneState(int tick, Accumulator acc) {
+        this.tick = tick;
+        this.letterbox = acc.letterbox;
+        this.hudHidden = acc.hudHidden;
+        this.motionBlur = acc.motionBlur;
+        this.inputDisabled = acc.inputDisabled;
+        this.fov = acc.fov;
+        this.camera = acc.camera;
+        this.textures = Collections.unmodifiableMap(new LinkedHashMap<>(acc.textures));
+        this.texts = Collections.unmodifiableMap(new LinkedHashMap<>(acc.texts));
+        this.heads = Collections.unmodifiableMap(new LinkedHashMap<>(acc.heads));
+        this.players = Collections.unmodifiableMap(new LinkedHashMap<>(acc.players));
+    }
+
+    /** The tick this state describes: the result of every action before it. */
+    public int getTick() { return tick; }
+    public boolean isLetterbox() { return letterbox; }
+    public boolean isHudHidden() { return hudHidden; }
+    public boolean isMotionBlur() { return motionBlur; }
+    public boolean isInputDisabled() { return inputDisabled; }
+
+    /** Whether the field of view is overridden, rather than the player's own. */
+    public boolean hasFov() { return !Float.isNaN(fov); }
+
+    /** The overridden field of view; meaningful only when {@link #hasFov()}. */
+    public float getFov() { return fov; }
+
+    /**
+     * Where the camera was last placed, or null if it is with the player. With a camera path this
+     * is only what was set explicitly; the path's own position comes from the path.
+     */
+    public @Nullable CutsceneAction.SetCamera getCamera() { return camera; }
+
+    /** Textures on screen, by reference, in the order they were shown. */
+    public Map<String, CutsceneAction.ShowTexture> getTextures() { return textures; }
+    public Map<String, CutsceneAction.ShowText> getTexts() { return texts; }
+    public Map<String, CutsceneAction.ShowHead> getHeads() { return heads; }
+    public Map<String, CutsceneAction.ShowPlayer> getPlayers() { return players; }
+
+    // --- Seek index ---
+
+    /**
+     * Snapshots of a cutscene's state every {@code interval} ticks, taken once when it is built.
+     * A lookup jumps straight to the snapshot at or before the target and replays at most one
+     * interval's worth of actions from there.
+     */
+    static final class Index {
+
+        private final List<CutsceneAction> actions;
+        private final int interval;
+        private final CutsceneState[] keyframes;
+        // First action at or after each keyframe's tick — where replay resumes from
+        private final int[] resumeAt;
+
+        Index(List<CutsceneAction> actions, int totalDurationTicks, int interval) {
+            this.actions = actions;
+            this.interval = Math.max(1, interval);
+
+            int count = totalDurationTicks / this.interval + 1;
+            this.keyframes = new CutsceneState[count];
+            this.resumeAt = new int[count];
+
+            Accumulator acc = new Accumulator();
+            int next = 0;
+            for (int k = 0; k < count; k++) {
+                int keyTick = k * this.interval;
+                while (next < actions.size() && actions.get(next).tick() < keyTick) {
+                    acc.apply(actions.get(next++));
+                }
+                keyframes[k] = new CutsceneState(keyTick, acc);
+                resumeAt[k] = next;
+            }
+        }
+
+        CutsceneState stateAt(int tick) {
+            int target = Math.max(0, tick);
+            int k = Math.min(target / interval, keyframes.length - 1);
+            CutsceneState keyframe = keyframes[k];
+            if (keyframe.tick == target) return keyframe;
+
+            Accumulator acc = new Accumulator(keyframe);
+            for (int i = resumeAt[k]; i < actions.size(); i++) {
+                CutsceneAction action = actions.get(i);
+                if (action.tick() >= target) break;
+                acc.apply(action);
+            }
+            return new CutsceneState(target, acc);
+        }
+    }
+
+    private static final class Accumulator {
+        private boolean letterbox;
+        private boolean hudHidden;
+        private boolean motionBlur;
+        private boolean inputDisabled;
+        private float fov = Float.NaN;
+        private CutsceneAction.SetCamera camera;
+        private final Map<String, CutsceneAction.ShowTexture> textures;
+        private final Map<String, CutsceneAction.ShowText> texts;
+        private final Map<String, CutsceneAction.ShowHead> heads;
+        private final Map<String, CutsceneAction.ShowPlayer> players;
+
+        Accumulator() {
+            this.textures = new LinkedHashMap<>();
+            this.texts = new LinkedHashMap<>();
+            this.heads = new LinkedHashMap<>();
+            this.players = new LinkedHashMap<>();
+        }
+
+        Accumulator(CutsceneState from) {
+            this.letterbox = from.letterbox;
+            this.hudHidden = from.hudHidden;
+            this.motionBlur = from.motionBlur;
+            this.inputDisabled = from.inputDisabled;
+            this.fov = from.fov;
+            this.camera = from.camera;
+            this.textures = new LinkedHashMap<>(from.textures);
+            this.texts = new LinkedHashMap<>(from.texts);
+            this.heads = new LinkedHashMap<>(from.heads);
+            this.players = new LinkedHashMap<>(from.players);
+        }
+
+        void apply(CutsceneAction action) {
+            switch (action) {
+                case CutsceneAction.ShowTexture a -> textures.put(a.ref(), a);
+                case CutsceneAction.HideTexture a -> textures.remove(a.ref());
+                case CutsceneAction.ShowText a -> texts.put(a.ref(), a);
+                case CutsceneAction.HideText a -> texts.remove(a.ref());
+                case CutsceneAction.ShowHead a -> heads.put(a.ref(), a);
+                case CutsceneAction.HideHead a -> heads.remove(a.ref());
+                case CutsceneAction.ShowPlayer a -> players.put(a.ref(), a);
+                case CutsceneAction.HidePlayer a -> players.remove(a.ref());
+                case CutsceneAction.SetLetterbox a -> letterbox = a.enabled();
+                case CutsceneAction.SetHudHidden a -> hudHidden = a.hidden();
+                case CutsceneAction.SetMotionBlur a -> motionBlur = a.enabled();
+                case CutsceneAction.SetInputDisabled a -> inputDisabled = a.disabled();
+                case CutsceneAction.SetCamera a -> camera = a;
+                case CutsceneAction.ReleaseCamera a -> camera = null;
+                case CutsceneAction.SetFov a -> fov = a.fov();
+                case CutsceneAction.ResetFov a -> fov = Float.NaN;
+                case CutsceneAction.Flash a -> { }
+                case CutsceneAction.PlaySound a -> { }
+                case CutsceneAction.CallbackMarker a -> { }
+                case CutsceneAction.AnimateComponent a -> { }
+            }
+        }
+    }
+}
@@ -4,17 +4,31 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Called when a cutscene reaches a callback marker. For a cutscene shared by a group it is called
+ * once for the whole group, with {@link #getPlayer()} the viewer the playback was started for and
+ * {@link #getViewers()} everyone watching.
+ */
 public class CutsceneCallbackEvent extends LecternClientEvent {
 
     private static final HandlerList HANDLERS = new HandlerList();
 
     private final String cutsceneId;
     private final int callbackId;
+    private final Collection<Player> viewers;
 
     public CutsceneCallbackEvent(Player player, String cutsceneId, int callbackId) {
+        this(player, cutsceneId, callbackId, List.of(player));
+    }
+
+    public CutsceneCallbackEvent(Player player, String cutsceneId, int callbackId, Collection<Player> viewers) {
         super(player, "CUTSCENE_CALLBACK");
         this.cutsceneId = cutsceneId;
         this.callbackId = callbackId;
+        this.viewers = List.copyOf(viewers);
     }
 
     public String getCutsceneId() {
@@ -25,6 +39,11 @@ public class CutsceneCallbackEvent extends LecternClientEvent {
         return callbackId;
     }
 
+    /** Everyone watching the playback the callback fired in. */
+    public Collection<Player> getViewers() {
+        return viewers;
+    }
+
     @Override
     public @NotNull HandlerList getHandlers() {
         return HANDLERS;
@@ -5,6 +5,9 @@ import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * Called when a player's Lectern mod client successfully completes the handshake.
  * After this event fires, the player can receive Lectern effect packets.
@@ -14,10 +17,16 @@ public class LecternHandshakeEvent extends Event {
 
     private final Player player;
     private final String modId;
+    private final Set<Long> cachedLayoutHashes;
 
     public LecternHandshakeEvent(Player player, String modId) {
+        this(player, modId, Set.of());
+    }
+
+    public LecternHandshakeEvent(Player player, String modId, Collection<Long> cachedLayoutHashes) {
         this.player = player;
         this.modId = modId;
+        this.cachedLayoutHashes = cachedLayoutHashes == null ? Set.of() : Set.copyOf(cachedLayoutHashes);
     }
 
     /**
@@ -34,6 +43,15 @@ public class LecternHandshakeEvent extends Event {
         return modId;
     }
 
+    /**
+     * Content hashes of the HUD layouts the client already has cached from earlier sessions.
+     * Playing a layout whose {@link gg.lode.lecternapi.api.ui.HudLayout#getContentHash() hash}
+     * is in this set sends only its id and hash. Empty for clients too old to report them.
+     */
+    public Set<Long> getCachedLayoutHashes() {
+        return cachedLayoutHashes;
+    }
+
     @Override
     public @NotNull HandlerList getHandlers() {
         return HANDLERS;
@@ -161,4 +161,44 @@ public interface ICameraManager {
     default void stopVerityCam(Player player) {
         // Backward-compatible no-op fallback; the real implementation overrides this.
     }
+
+    /**
+     * Puts the viewer's camera on a chase behind an entity, looking at it.
+     * <p>
+     * Uses a default offset of four blocks behind and two above the target, with light smoothing.
+     *
+     * @param player the player whose camera is taken over
+     * @param target the entity to follow
+     */
+    default void followEntity(Player player, UUID target) {
+        followEntity(player, target, new Vector(0, 2, -4), true, 0.2f);
+    }
+
+    /**
+     * Attaches the viewer's camera to an entity. The client places the camera every frame from
+     * its own interpolated copy of the entity, so a chase cam costs this one packet and
+     * {@link #stopFollowing} rather than a {@link #moveCamera} every tick, and it moves as smoothly
+     * as the entity itself renders instead of jittering with latency.
+     * <p>
+     * The offset rotates with the target's body yaw: {@code x} to its right, {@code y} up,
+     * {@code z} along its facing, so a negative {@code z} sits behind it. If the target leaves
+     * the viewer's tracking range the camera holds its last position until it comes back.
+     *
+     * @param player the player whose camera is taken over
+     * @param target the entity to follow
+     * @param offset where the camera sits relative to the target
+     * @param lookAtTarget aim at the target's eyes; false keeps the target's own look direction
+     * @param smoothing how far the camera lags behind, from 0 (rigidly attached) towards 1
+     *                  (drifts slowly after the target)
+     */
+    default void followEntity(Player player, UUID target, Vector offset, boolean lookAtTarget, float smoothing) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    /**
+     * Detaches the viewer's camera from the entity it follows and returns it to the player.
+     */
+    default void stopFollowing(Player player) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
 }
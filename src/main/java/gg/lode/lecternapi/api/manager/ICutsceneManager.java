@@ -4,9 +4,70 @@ import gg.lode.lecternapi.api.cutscene.Cutscene;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ICutsceneManager {
+
+    /**
+     * Plays a cutscene for the player.
+     * <p>
+     * Cutscenes are compiled once into a binary timeline and cached on the client under their
+     * {@link Cutscene#getContentHash() content hash}. If the client already holds that hash only
+     * the id and hash are sent; a client without it answers with a miss and gets the full
+     * timeline, so playing the same intro to a hundred players sends it at most once each.
+     */
     void play(Player player, Cutscene cutscene);
 
+    /**
+     * Plays one cutscene to a group on a single shared timeline.
+     * <p>
+     * The server keeps one clock for the whole group rather than one per viewer, so the cutscene's
+     * callbacks and completion handler run once per tick they fall on — not once per viewer — and
+     * one {@link gg.lode.lecternapi.api.event.CutsceneCallbackEvent} fires for the group.
+     * {@link #pause}, {@link #resume} and {@link #seekTo} on any viewer move the shared clock for
+     * everyone; {@link #stop} takes just that viewer out, and the playback ends with its last.
+     *
+     * @param viewers  who watches; players already in a cutscene are switched to this one
+     * @param cutscene the cutscene to play
+     */
+    default void play(Collection<Player> viewers, Cutscene cutscene) {
+        // Backward-compatible fallback: independent playback per viewer.
+        for (Player viewer : viewers) {
+            play(viewer, cutscene);
+        }
+    }
+
+    /**
+     * Adds a late viewer to the shared playback another player is watching. The newcomer is
+     * sent the cutscene and seeked to the shared position, so they see what everyone else is
+     * seeing from the moment they arrive.
+     *
+     * @param viewer   the player joining
+     * @param watching anyone already in the playback
+     * @return false if {@code watching} is not watching a cutscene
+     */
+    default boolean join(Player viewer, Player watching) {
+        return false;
+    }
+
+    /**
+     * Everyone sharing the player's playback, the player included. Just the player for a
+     * cutscene played to them alone, and empty if they are not watching one.
+     */
+    default Collection<Player> getViewers(Player player) {
+        return isPlaying(player) ? List.of(player) : List.of();
+    }
+
+    /**
+     * Sends a cutscene's timeline to the player's client ahead of time without playing it, so
+     * the later {@link #play} is a cache hit. Worth calling at join for anything that plays at a
+     * moment where a stall would show.
+     */
+    default void preload(Player player, Cutscene cutscene) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
     /**
      * Plays a cutscene from a JSON file stored in the Lectern plugin's cutscenes folder.
      *
@@ -19,7 +80,25 @@ public interface ICutsceneManager {
     void pause(Player player);
     void resume(Player player);
     void stop(Player player);
+
+    /**
+     * Jumps playback to {@code tick}. The client is sent the {@link Cutscene#stateAt(int) state}
+     * the cutscene has built up by then as one message, rather than every action before it, so
+     * scrubbing through a long cutscene costs the same as a short one.
+     */
     void seekTo(Player player, int tick);
+
+    /**
+     * Caps how many chunks are sent per viewer per tick for cutscenes that
+     * {@link Cutscene.Builder#preloadChunks(int, int) preload along their camera path}. Chunks the
+     * viewer already has are skipped and do not count.
+     *
+     * @param chunksPerTick chunks per viewer per tick; at least 1
+     */
+    default void setChunkPreloadRate(int chunksPerTick) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
     boolean isPlaying(Player player);
     @Nullable String getActiveCutsceneId(Player player);
 }
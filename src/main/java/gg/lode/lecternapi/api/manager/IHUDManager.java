@@ -5,11 +5,14 @@ import gg.lode.lecternapi.api.hud.HudEasing;
 import gg.lode.lecternapi.api.hud.HudElement;
 import gg.lode.lecternapi.api.ui.AnnouncementBadge;
 import gg.lode.lecternapi.api.ui.HudAnimation;
+import gg.lode.lecternapi.api.ui.HudDraw;
 import gg.lode.lecternapi.api.ui.HudLayout;
 import gg.lode.lecternapi.api.ui.HudShape;
+import gg.lode.lecternapi.api.ui.LayoutClock;
 import gg.lode.lecternapi.api.ui.WorldAnchor;
 import org.bukkit.entity.Player;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -429,6 +432,10 @@ public interface IHUDManager {
      * {@code refPrefix} — current and future, so ordering against ADDs doesn't matter.
      * Component elements are prefixed {@code "<componentId>:"}; prefer the
      * {@code IPacketComponentManager} overloads for those.
+     * <p>
+     * Each player's elements are tracked in reference order, so a group is found as one range of
+     * that registry — the cost of a group operation follows the size of the group, not of the
+     * whole HUD — and the operation goes out as a single message naming the prefix.
      */
     default void animateHudGroup(Player player, String refPrefix, HudAnimation animation) {
     }
@@ -437,6 +444,14 @@ public interface IHUDManager {
     default void fadeOutHudGroup(Player player, String refPrefix, int fadeOutMs) {
     }
 
+    /**
+     * Removes every element whose reference starts with {@code refPrefix} at once — one message for
+     * the group rather than a removal per element.
+     */
+    default void removeHudGroup(Player player, String refPrefix) {
+        fadeOutHudGroup(player, refPrefix, 0);
+    }
+
     /**
      * Pins a marker to a point in the world for this player, replacing any anchor with the same
      * id — which is how a marker on something that moves is kept current.
@@ -459,6 +474,46 @@ public interface IHUDManager {
      */
     void renderShape(Player player, HudShape shape);
 
+    /**
+     * Draws every element in the list as one message: a table with shared layer and alignment
+     * defaults and each texture id sent once, rather than a message per element. Each draw
+     * behaves exactly as its single render call would, in list order, so a later draw of the
+     * same reference wins.
+     */
+    default void renderAll(Player player, List<HudDraw> draws) {
+        // Backward-compatible fallback: one render call per element.
+        for (HudDraw draw : draws) {
+            switch (draw) {
+                case HudDraw.Texture d -> renderTexture(player, d.reference(), d.textureId(), d.x(), d.y(), d.layer(),
+                        d.width(), d.height(), d.alpha(),
+                        wireValue(HorizontalAlignment.class, d.horizontalAlignment(), HorizontalAlignment.LEFT),
+                        wireValue(VerticalAlignment.class, d.verticalAlignment(), VerticalAlignment.TOP));
+                case HudDraw.Text d -> renderText(player, d.reference(), d.text(), d.x(), d.y(), d.layer(),
+                        d.scale(), d.alpha(),
+                        wireValue(HorizontalAlignment.class, d.horizontalAlignment(), HorizontalAlignment.LEFT),
+                        wireValue(VerticalAlignment.class, d.verticalAlignment(), VerticalAlignment.TOP),
+                        wireValue(TextAlignment.class, d.textAlignment(), TextAlignment.AUTO));
+                case HudDraw.Head d -> renderHead(player, d.reference(), d.headUuid(), d.x(), d.y(), d.layer(),
+                        d.width(), d.height(),
+                        wireValue(HorizontalAlignment.class, d.horizontalAlignment(), HorizontalAlignment.LEFT),
+                        wireValue(VerticalAlignment.class, d.verticalAlignment(), VerticalAlignment.TOP));
+                case HudDraw.PlayerModel d -> renderPlayer(player, d.reference(), d.identifier(), d.x(), d.y(), d.layer(),
+                        d.width(), d.height(), d.alpha(),
+                        wireValue(HorizontalAlignment.class, d.horizontalAlignment(), HorizontalAlignment.LEFT),
+                        wireValue(VerticalAlignment.class, d.verticalAlignment(), VerticalAlignment.TOP));
+                case HudDraw.Shape d -> renderShape(player, d.shape());
+            }
+        }
+    }
+
+    /** Resolves an alignment by its wire name, as a {@link HudDraw} carries it. */
+    private static <E extends Enum<E>> E wireValue(Class<E> type, String name, E fallback) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(name)) return constant;
+        }
+        return fallback;
+    }
+
     /** Removes a shape by reference. */
     void removeShape(Player player, String reference);
 
@@ -470,11 +525,22 @@ public interface IHUDManager {
     /**
      * Plays an editor-authored layout, and pushes any variables it carries.
      * <p>
-     * A layout with no JSON replays one the client already holds under that id, so a screen
-     * shown repeatedly is sent in full once.
+     * The JSON is only sent when the client does not hold this exact layout: if its
+     * {@link HudLayout#getContentHash() content hash} was reported at handshake or has been sent
+     * since, the id and hash go instead. A layout with no JSON replays whatever the client holds
+     * under that id.
      */
     void playLayout(Player player, HudLayout layout);
 
+    /**
+     * Whether the client already holds this layout's definition, so {@link #playLayout} would
+     * send only its id and hash.
+     */
+    default boolean isLayoutCached(Player player, HudLayout layout) {
+        // Backward-compatible fallback: nothing is known to be cached, the JSON is always sent.
+        return false;
+    }
+
     /** Takes a layout off screen. */
     void stopLayout(Player player, String id);
 
@@ -484,15 +550,67 @@ public interface IHUDManager {
     /**
      * Sets a single {@code %token%} value without replaying a layout — the update path for a
      * value that changes while a screen is up.
+     * <p>
+     * Writes are buffered per player and go out together at the end of the tick as one delta,
+     * so fifteen listeners each updating their own variable cost one packet, not fifteen. A
+     * variable written twice in a tick sends only its last value, and one written back to what
+     * the client already shows sends nothing.
+     * <p>
+     * Setting a {@linkplain #bindLayoutVariable bound} variable replaces its clock with the fixed
+     * value, and is always sent: what a running clock shows is not something the server
+     * compares against.
      */
     void setLayoutVariable(Player player, String name, String value);
 
-    /** Sets several at once, which is one packet rather than one per value. */
+    /** Sets several at once, into the same end-of-tick delta as {@link #setLayoutVariable}. */
     void setLayoutVariables(Player player, java.util.Map<String, String> variables);
 
-    /** Clears every layout variable. */
+    /** Clears every layout variable, dropping any writes still waiting to be sent. */
     void clearLayoutVariables(Player player);
 
+    /**
+     * Sends the player's buffered variable writes now rather than at the end of the tick — for a
+     * value that has to land before something else sent this tick, such as a layout played
+     * right after.
+     */
+    default void flushLayoutVariables(Player player) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    /**
+     * The value a variable holds for the player, including a write still waiting to be sent;
+     * null if it has never been set, or has been unbound since. For a bound variable, the
+     * clock's value now, as {@link LayoutClock#printAt(long)} prints it.
+     */
+    default String getLayoutVariable(Player player, String name) {
+        return null;
+    }
+
+    /**
+     * Binds a variable to a clock the client evaluates itself every frame — a match timer or a
+     * filling bar costs this one packet instead of one per change. The clock is
+     * {@linkplain LayoutClock#start() started} if it has not been already, so one clock bound to
+     * players as they arrive shows them all the same time.
+     * <p>
+     * Binding goes out straight away rather than with the end-of-tick delta, drops any write
+     * to the name still waiting, and forgets the last fixed value sent for it — so a later
+     * {@link #setLayoutVariable} on the name is never mistaken for a repeat and dropped. Binding
+     * again replaces the clock.
+     */
+    default void bindLayoutVariable(Player player, String name, LayoutClock clock) {
+        // Backward-compatible fallback: a snapshot of the clock's current value, without the ticking.
+        clock.start();
+        setLayoutVariable(player, name, clock.printAt(System.currentTimeMillis()));
+    }
+
+    /**
+     * Stops a bound variable's clock, leaving the value it had reached on screen. The server keeps
+     * no value for it afterwards, so the next {@link #setLayoutVariable} on the name is sent.
+     */
+    default void unbindLayoutVariable(Player player, String name) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
     /**
      * Takes down one badge slot by id, leaving the rest of the stack up.
      *
@@ -6,7 +6,9 @@ import gg.lode.lecternapi.api.ui.LayoutPage;
 import org.bukkit.entity.Player;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Pages authored in the Lectern UI editor: loading them, opening them, and running what their
@@ -47,11 +49,86 @@ public interface ILayoutManager {
      * <p>
      * Commands are re-registered to match, and a page a player has open is left alone: reloading
      * mid-session changes what opens next, not what is already on screen.
+     * <p>
+     * Files are fingerprinted by modification time, size and content hash, and only those that
+     * changed since the last load are parsed again. This blocks until the reload is done; prefer
+     * {@link #reloadAsync()} from a command.
+     * <p>
+     * Each changed page is validated and compiled to its binary form as it is parsed. Compiled
+     * pages are cached by {@link LayoutPage#getSourceHash() source hash} under
+     * {@code plugins/Lectern/compiled}, beside the published cache and outside the folder that is
+     * read and {@linkplain #watchLayouts(boolean) watched}, so writing them never sets off a
+     * reload. After a restart an unedited page is read back rather than compiled again. A file
+     * that fails validation is listed as {@linkplain ReloadResult#failed() failed}, like one that
+     * cannot be parsed, and any page it held before stays loaded.
      *
      * @return how many pages were loaded
      */
     int reload();
 
+    /**
+     * Reloads the folder without holding up the tick. Changed files are read and parsed in
+     * parallel off the main thread, then the new set of pages is swapped in all at once on the
+     * main thread, along with the command re-registration — so a lookup never sees half a
+     * reload, and one broken file leaves its page as it was rather than failing the rest.
+     *
+     * @return completes on the main thread with what the reload did
+     */
+    default CompletableFuture<ReloadResult> reloadAsync() {
+        // Backward-compatible fallback: a full blocking reload, reported as every page changed.
+        int loaded = reload();
+        return CompletableFuture.completedFuture(new ReloadResult(loaded, loaded, 0, List.of()));
+    }
+
+    /**
+     * Watches {@code plugins/Lectern/layouts} for changes and reloads the files that change,
+     * as {@link #reloadAsync()} would, once writes to them settle. Off by default.
+     */
+    default void watchLayouts(boolean enabled) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    default boolean isWatchingLayouts() {
+        return false;
+    }
+
+    /**
+     * What a reload did.
+     *
+     * @param loaded  pages loaded once it finished
+     * @param changed pages parsed again because their file was new or had changed
+     * @param removed pages dropped because their file was gone
+     * @param failed  files that could not be parsed or failed validation; any page they held
+     *                before is kept
+     */
+    record ReloadResult(int loaded, int changed, int removed, List<String> failed) {
+        public ReloadResult {
+            failed = failed == null ? List.of() : List.copyOf(failed);
+        }
+    }
+
+    /**
+     * Caps how much join-time opening is done per tick across every player.
+     * <p>
+     * Pages that {@linkplain gg.lode.lecternapi.api.ui.LayoutBehavior#openOnJoin open on join} are
+     * queued once their delay is up, not opened there and then. Each tick the queue drains until
+     * either budget is spent — topmost pages first, then in join order — so three hundred players
+     * arriving together after a restart have their layouts spread over the following ticks
+     * rather than all sent on one. A page the client already has cached costs next to nothing
+     * against the byte budget.
+     *
+     * @param pagesPerTick most pages opened per tick; 0 or less for no limit
+     * @param bytesPerTick most layout payload bytes sent per tick; 0 or less for no limit
+     */
+    default void setJoinBudget(int pagesPerTick, int bytesPerTick) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    /** How many join-time opens are waiting for budget. */
+    default int getJoinQueueDepth() {
+        return 0;
+    }
+
     /** Opens a page for a player, applying its behaviour. */
     void open(Player player, String id);
 
@@ -88,9 +165,12 @@ public interface ILayoutManager {
      * plays a document its author published from the editor — so a change made on the site reaches
      * the server without a file drop or a restart.
      *
-     * <p>The document is cached after the first fetch and reused. The fetch itself runs off the main
-     * thread and the playback hops back onto it, so a slow answer from lode.gg costs a frame of
-     * lateness rather than a stalled tick. Call {@link #clearPublishedCache()} to pick up an edit.
+     * <p>Documents are cached on disk under {@code plugins/Lectern/published}, so a restart does not
+     * refetch them. When a cached copy exists it is played straight away and revalidated against
+     * lode.gg in the background by version tag; an edit is picked up by the next play, with no
+     * cache to wipe. Only a document never fetched before waits on the network — the fetch runs off
+     * the main thread and the playback hops back onto it, so a slow answer from lode.gg costs a
+     * frame of lateness rather than a stalled tick.
      *
      * @param publishedId the shared id from the editor
      * @param scene       a named scene of the project — an intro, an idle, an outro — or null for
@@ -114,11 +194,58 @@ public interface ILayoutManager {
     void closePublished(Player player, String publishedId);
 
     /**
-     * Forgets every cached published document, so the next play fetches it again.
+     * Forgets every cached published document, in memory and on disk, so the next play fetches it
+     * again.
      *
      * @return how many were being held
      */
     int clearPublishedCache();
 
+    /**
+     * Forgets one cached published document, leaving the rest.
+     *
+     * @return whether it was cached
+     */
+    default boolean clearPublishedCache(String publishedId) {
+        // Backward-compatible fallback: no per-document eviction; the rest of the cache is left alone.
+        return false;
+    }
+
+    /**
+     * Checks a cached published document against lode.gg now rather than on its next play, and
+     * fetches it again if it has changed.
+     *
+     * @return completes with whether the cached copy was replaced
+     */
+    default CompletableFuture<Boolean> revalidatePublished(String publishedId) {
+        // Backward-compatible fallback: nothing is checked and the cache is left alone.
+        return CompletableFuture.completedFuture(false);
+    }
+
+    /**
+     * Caps the disk cache of published documents. Past it, the least recently played are evicted
+     * until the cache fits.
+     *
+     * @param maxBytes the largest the cache may grow; 0 or less for no limit
+     */
+    default void setPublishedCacheLimit(long maxBytes) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    /** Bytes the published document cache holds on disk. */
+    default long getPublishedCacheSize() {
+        return 0;
+    }
+
+    /**
+     * Where published documents are fetched from, in place of lode.gg — a mirror, or a local
+     * stand-in for testing.
+     *
+     * @param baseUrl the base URL that shared ids are resolved against; null for lode.gg
+     */
+    default void setPublishedSource(String baseUrl) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
     int fire(Player player, String pageId, String elementRef, LayoutAction.Trigger trigger);
 }
@@ -9,6 +9,13 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Manages the lifecycle of {@link PacketComponent} instances — showing, hiding,
  * and ticking components for individual players.
+ * <p>
+ * After each tick a component's changes are read from
+ * {@link PacketComponent#getDirtyHandles()} and the handles cleared, so a component that did
+ * not change costs nothing beyond the check. A changed element goes out as a delta — its
+ * reference, the {@link PacketComponent.ElementHandle#getDirtyFields() field mask}, and only the
+ * fields the mask names — rather than as the whole element again. A handle whose only change is
+ * {@link PacketComponent.ElementHandle#FIELD_LISTENER its listener} sends nothing.
  */
 public interface IPacketComponentManager {
 
@@ -52,4 +59,63 @@ public interface IPacketComponentManager {
     default void hide(Player player, String componentId, HudAnimation exit) {
         hide(player, componentId, exit.getFadeOut());
     }
+
+    // --- Tick budget ---
+
+    /**
+     * Caps the main-thread time spent ticking components each server tick.
+     * <p>
+     * Due components tick in {@link PacketComponent.TickPriority priority} order. Once the budget
+     * is spent, the {@code LOW} ones still waiting are deferred to the next server tick. There
+     * they run first among the {@code LOW} work and are exempt from that tick's budget — they
+     * run even if {@code HIGH} and {@code NORMAL} work has used it all — so a deferred tick is
+     * late rather than lost, and a component is never more than one tick behind on account of
+     * the budget. Their time still counts, so it leaves less budget for the {@code LOW} work
+     * behind them. {@code HIGH} and {@code NORMAL} components always tick when due.
+     * <p>
+     * A deferred tick runs on the next server tick whether or not {@link PacketComponent#isTickDue
+     * isTickDue} holds there, and does not move the component's phase: with an interval of 5, a
+     * tick deferred from tick 10 runs on 11 and the next one is still due on 15. A component whose
+     * interval is 1, and so is due again on the tick its deferred tick runs, ticks once there.
+     *
+     * @param millis the budget per server tick; 0 for no limit, which is the default
+     */
+    default void setTickBudgetMillis(double millis) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    /** The per-tick budget, or 0 when unlimited. */
+    default double getTickBudgetMillis() {
+        return 0;
+    }
+
+    /** How many component ticks the budget has deferred since startup. */
+    default long getDeferredTickCount() {
+        return 0;
+    }
+
+    // --- Async ticking ---
+
+    /**
+     * Runs the ticks of components that {@link PacketComponent#isAsyncTick() declare themselves
+     * thread-safe} on a worker pool instead of the main thread. Off by default.
+     * <p>
+     * Due async components are handed to the pool at the end of a server tick and their dirty
+     * handles collected and sent on the main thread at the start of the next, so the main thread
+     * never waits on a worker; the price is one tick between computing a value and sending it. A
+     * component whose previous tick is still running when it comes due again skips that tick, and
+     * one hidden while its tick is in flight has the results dropped.
+     * <p>
+     * Async ticks do not count against {@link #setTickBudgetMillis(double) the tick budget}, which
+     * measures main-thread time. Components that do not declare themselves thread-safe tick on the
+     * main thread as before.
+     */
+    default void setAsyncTicking(boolean enabled) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    /** Whether thread-safe components are ticked off the main thread. */
+    default boolean isAsyncTicking() {
+        return false;
+    }
 }
\ No newline at end of file
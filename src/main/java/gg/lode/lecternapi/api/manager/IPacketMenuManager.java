@@ -6,6 +6,10 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * Manages opening, closing, and tracking {@link PacketMenu} instances for players.
+ * <p>
+ * Components embedded in an open menu are ticked alongside standalone ones, honouring their
+ * interval, priority and async declaration; after they tick, the menu's
+ * {@link PacketMenu#collectComponentChanges()} gives the elements to re-send.
  */
 public interface IPacketMenuManager {
 
@@ -24,6 +28,24 @@ public interface IPacketMenuManager {
      */
     void close(Player player);
 
+    /**
+     * Rebuilds the player's open menu in place: {@link PacketMenu#build} runs again, the result is
+     * diffed against what the client was sent by element reference, and only added, removed and
+     * changed elements are sent. The button overlay and blur are left up throughout, and the
+     * menu's close action does not run. Does nothing if no menu is open.
+     *
+     * @param player the target player
+     * @see PacketMenu#rebuild()
+     */
+    default void refresh(Player player) {
+        // Backward-compatible fallback: re-open, which resends every element and closes the
+        // menu first, running its close action.
+        PacketMenu menu = getOpenMenu(player);
+        if (menu != null) {
+            open(player, menu);
+        }
+    }
+
     /**
      * Returns the currently open menu for a player, or null if none.
      */
@@ -0,0 +1,56 @@
+package gg.lode.lecternapi.api.manager;
+
+import gg.lode.lecternapi.api.transport.PayloadCodec;
+import gg.lode.lecternapi.api.transport.TransportStats;
+import org.bukkit.entity.Player;
+
+/**
+ * Wire-level settings for Lectern's own traffic.
+ * <p>
+ * The large payloads — HUD layout and layout page JSON, inline hand and body animations, the
+ * client's integrity report — are compressed with a shared {@link PayloadCodec} once they reach
+ * a size threshold. The codec is agreed at handshake and applies in both directions, so a client
+ * compresses its reports the same way the server compresses what it sends. Clients too old to
+ * negotiate get everything uncompressed.
+ */
+public interface ITransportManager {
+
+    /**
+     * Sets how large payloads are compressed. Takes effect for players as they next handshake;
+     * players already connected keep what they negotiated.
+     *
+     * @param codec          the codec to offer clients
+     * @param thresholdBytes payloads smaller than this are sent as they are
+     */
+    default void setCompression(PayloadCodec codec, int thresholdBytes) {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+
+    default PayloadCodec getCompression() {
+        return PayloadCodec.NONE;
+    }
+
+    default int getCompressionThreshold() {
+        return Integer.MAX_VALUE;
+    }
+
+    /** The codec negotiated with a player, or {@link PayloadCodec#NONE} if their client cannot compress. */
+    default PayloadCodec getCompression(Player player) {
+        return PayloadCodec.NONE;
+    }
+
+    /** Compression totals across every player, both directions. */
+    default TransportStats getStats() {
+        return TransportStats.EMPTY;
+    }
+
+    /** Compression totals for one player's connection, both directions. */
+    default TransportStats getStats(Player player) {
+        return TransportStats.EMPTY;
+    }
+
+    /** Zeroes the counters behind {@link #getStats()}. */
+    default void resetStats() {
+        // Backward-compatible no-op fallback; the real implementation overrides this.
+    }
+}
@@ -7,6 +7,7 @@ import gg.lode.lecternapi.api.component.PacketComponent;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,9 @@ public abstract class PacketMenu {
     // Built elements (populated by the manager when opening)
     private List<Element> elements;
     private Map<String, ButtonListener> buttonListeners;
+    private List<PacketComponent> components;
+    // Position of each element in the list, so a component change replaces its element in place
+    private Map<String, Integer> elementIndex;
 
     public PacketMenu(String id, Player player) {
         this.id = id;
@@ -84,6 +88,18 @@ public abstract class PacketMenu {
         }
     }
 
+    /**
+     * Rebuilds this menu while it stays open, sending only the elements that changed.
+     * Use after the state {@link #build(Builder)} reads from has moved on — a page flip, a
+     * purchase, a price change.
+     */
+    public void refresh() {
+        var manager = gg.lode.lecternapi.LecternAPI.getApi().getPacketMenuManager();
+        if (manager != null) {
+            manager.refresh(player);
+        }
+    }
+
     // --- Package-private accessors for the manager ---
 
     public String getId() {
@@ -110,6 +126,59 @@ public abstract class PacketMenu {
         return buttonListeners != null ? Collections.unmodifiableMap(buttonListeners) : Map.of();
     }
 
+    /**
+     * The listener for a button by reference, or null. Buttons inside embedded components are
+     * looked up on the component, so a listener swapped on a live handle takes effect.
+     */
+    public ButtonListener getButtonListener(String reference) {
+        if (components != null) {
+            for (PacketComponent component : components) {
+                ButtonListener listener = component.getButtonListeners().get(reference);
+                if (listener != null) return listener;
+            }
+        }
+        return buttonListeners != null ? buttonListeners.get(reference) : null;
+    }
+
+    /**
+     * Components embedded with {@link Builder#addComponent(PacketComponent)}, in the order they
+     * were added. The manager ticks the ones with tickable elements while the menu is open, on the
+     * same schedule as standalone components.
+     */
+    public List<PacketComponent> getComponents() {
+        return components != null ? Collections.unmodifiableList(components) : List.of();
+    }
+
+    /**
+     * Called by the manager after embedded components have ticked. Returns the elements of theirs
+     * that changed, positioned for the menu, and clears the components' dirty state. The menu's
+     * own element list is updated to match, so a later {@link #rebuild()} diffs against what the
+     * client actually has.
+     */
+    public List<Element> collectComponentChanges() {
+        if (components == null || components.isEmpty()) return List.of();
+
+        List<Element> changes = null;
+        for (PacketComponent component : components) {
+            if (!component.hasDirtyElements()) continue;
+
+            for (PacketComponent.ElementHandle handle : component.getDirtyHandles()) {
+                if (!handle.isDirty(PacketComponent.ElementHandle.FIELDS_CLIENT)) continue;
+
+                String reference = handle.getQualifiedReference();
+                Element element = toElement(reference, handle.data(), component.resolveTransform(handle.relativeTransform()));
+                Integer index = elementIndex.get(reference);
+                if (index != null) {
+                    elements.set(index, element);
+                }
+                if (changes == null) changes = new ArrayList<>();
+                changes.add(element);
+            }
+            component.clearDirty();
+        }
+        return changes != null ? changes : List.of();
+    }
+
     /**
      * Called by the manager to build and populate elements.
      */
@@ -118,11 +187,75 @@ public abstract class PacketMenu {
         build(builder);
         this.elements = builder.elements;
         this.buttonListeners = builder.buttonListeners;
+        this.components = builder.components;
+        this.elementIndex = new HashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            elementIndex.put(elements.get(i).reference(), i);
+        }
+        // Whatever the components changed before now is already in the elements just built
+        for (PacketComponent component : components) {
+            component.clearDirty();
+        }
+    }
+
+    /**
+     * Called by the manager to re-run {@link #build(Builder)} on an open menu. Returns how the new
+     * elements differ from the previous build, matched by reference, so only the difference needs
+     * sending; button listeners are replaced with the new build's.
+     */
+    public Diff rebuild() {
+        List<Element> previous = getElements();
+        initialize();
+        return Diff.between(previous, elements);
+    }
+
+    /**
+     * How one build of a menu differs from the next, matched by element reference.
+     *
+     * @param added   elements whose reference was not in the previous build, in build order
+     * @param removed references in the previous build that are gone from this one
+     * @param changed elements whose reference is in both builds but whose values differ
+     */
+    public record Diff(List<Element> added, List<String> removed, List<Element> changed) {
+
+        public Diff {
+            added = List.copyOf(added);
+            removed = List.copyOf(removed);
+            changed = List.copyOf(changed);
+        }
+
+        /** Whether the two builds are identical, so there is nothing to send. */
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+        }
+
+        /** Compares two element lists by reference. */
+        public static Diff between(List<Element> previous, List<Element> current) {
+            Map<String, Element> before = new LinkedHashMap<>();
+            for (Element element : previous) {
+                before.put(element.reference(), element);
+            }
+
+            List<Element> added = new ArrayList<>();
+            List<Element> changed = new ArrayList<>();
+            for (Element element : current) {
+                Element old = before.remove(element.reference());
+                if (old == null) {
+                    added.add(element);
+                } else if (!old.equals(element)) {
+                    changed.add(element);
+                }
+            }
+            return new Diff(added, new ArrayList<>(before.keySet()), changed);
+        }
     }
 
     // --- Element types ---
 
-    public sealed interface Element permits TextureElement, HeadElement, PlayerElement, ButtonElement, TextElement {}
+    public sealed interface Element permits TextureElement, HeadElement, PlayerElement, ButtonElement, TextElement {
+        /** The element's qualified reference, unique within the menu. */
+        String reference();
+    }
 
     public record TextureElement(
             String reference, String textureId,
@@ -159,6 +292,7 @@ public abstract class PacketMenu {
         private final String menuId;
         private final List<Element> elements = new ArrayList<>();
         private final Map<String, ButtonListener> buttonListeners = new LinkedHashMap<>();
+        private final List<PacketComponent> components = new ArrayList<>();
         private int refCounter = 0;
 
         Builder(String menuId) {
@@ -242,36 +376,43 @@ public abstract class PacketMenu {
         }
 
         /**
-         * Flattens a {@link PacketComponent}'s elements into this menu as static elements.
-         * The component is initialized if not already built. Tickable elements are treated
-         * as static within menus — no tick loop runs for embedded components.
+         * Embeds a {@link PacketComponent} in this menu. The component is initialized if not
+         * already built, and its elements are placed in the menu at the component's position.
+         * <p>
+         * The component stays live: while the menu is open, its tickable elements tick and diff
+         * exactly as they would on the HUD, and only the elements that change are re-sent. The
+         * same instance added again by a later {@link #rebuild()} keeps its state.
          *
          * @param component the component to embed
          */
         public Builder addComponent(PacketComponent component) {
             component.initialize();
-
-            for (Map.Entry<String, ElementData> entry : component.getElements().entrySet()) {
-                String reference = entry.getKey();
-                ElementData data = entry.getValue();
-                MenuTransform absolute = component.resolveTransform(data.relativeTransform());
-
-                if (data instanceof ElementData.TextureData tex) {
-                    elements.add(new TextureElement(reference, tex.textureId(), absolute, tex.width(), tex.height()));
-                } else if (data instanceof ElementData.HeadData head) {
-                    elements.add(new HeadElement(reference, head.headUuid(), absolute, head.width(), head.height()));
-                } else if (data instanceof ElementData.PlayerData pe) {
-                    elements.add(new PlayerElement(reference, pe.identifier(), absolute, pe.width(), pe.height()));
-                } else if (data instanceof ElementData.ButtonData btn) {
-                    elements.add(new ButtonElement(reference, btn.textureId(), absolute, btn.width(), btn.height()));
-                    if (btn.listener() != null) {
-                        buttonListeners.put(reference, btn.listener());
-                    }
-                } else if (data instanceof ElementData.TextData txt) {
-                    elements.add(new TextElement(reference, txt.text(), absolute, txt.scale()));
+            components.add(component);
+
+            for (PacketComponent.ElementHandle handle : component.getHandles()) {
+                String reference = handle.getQualifiedReference();
+                ElementData data = handle.data();
+                elements.add(toElement(reference, data, component.resolveTransform(data.relativeTransform())));
+                if (data instanceof ElementData.ButtonData btn && btn.listener() != null) {
+                    buttonListeners.put(reference, btn.listener());
                 }
             }
             return this;
         }
     }
+
+    private static Element toElement(String reference, ElementData data, MenuTransform absolute) {
+        if (data instanceof ElementData.TextureData tex) {
+            return new TextureElement(reference, tex.textureId(), absolute, tex.width(), tex.height());
+        } else if (data instanceof ElementData.HeadData head) {
+            return new HeadElement(reference, head.headUuid(), absolute, head.width(), head.height());
+        } else if (data instanceof ElementData.PlayerData pe) {
+            return new PlayerElement(reference, pe.identifier(), absolute, pe.width(), pe.height());
+        } else if (data instanceof ElementData.ButtonData btn) {
+            return new ButtonElement(reference, btn.textureId(), absolute, btn.width(), btn.height());
+        } else if (data instanceof ElementData.TextData txt) {
+            return new TextElement(reference, txt.text(), absolute, txt.scale());
+        }
+        throw new IllegalStateException("Unknown element data type: " + data.getClass());
+    }
 }
@@ -0,0 +1,73 @@
+package gg.lode.lecternapi.api.transport;
+
+import org.bukkit.entity.Player;
+
+/**
+ * An open transaction on one player's outbound Lectern traffic.
+ * <p>
+ * While a batch is open, every manager call aimed at its player — HUD renders, entity tints,
+ * particles, anything that would otherwise go out as a packet of its own — is held back and
+ * collected instead. Committing hands the collection to the end of the tick, where it leaves as
+ * a single framed message. A minigame that redraws thirty HUD elements and tints a few entities
+ * each tick then costs one write and one flush per player rather than dozens.
+ * <p>
+ * Calls are coalesced by what they address: a second render of the same reference replaces the
+ * first rather than queueing behind it, and a removal cancels a render still waiting in the same
+ * batch. What reaches the client is the state the batch ended on, not every step taken to get
+ * there. Calls that address nothing — a sound, a flash, a one-off particle — are kept in order.
+ * <p>
+ * Opening a batch for a player who already has one open joins the outer batch; only the
+ * outermost commit hands anything over. Calls for other players are unaffected.
+ *
+ * <pre>{@code
+ * try (OutboundBatch batch = api.beginBatch(player)) {
+ *     hud.renderText(player, "score", score, 10, 10, 0, 1f, LEFT, TOP, AUTO);
+ *     hud.renderTexture(player, "bar", "mygame:hud/bar", 10, 24, 0, width, 6, 1f, LEFT, TOP);
+ * }
+ * }</pre>
+ */
+public interface OutboundBatch extends AutoCloseable {
+
+    /** The player whose traffic this batch collects. */
+    Player getPlayer();
+
+    /** Whether the batch is still collecting calls. */
+    boolean isOpen();
+
+    /**
+     * Closes the batch and queues what it collected to go out at the end of the tick.
+     * Committing a batch that is already closed does nothing.
+     */
+    void commit();
+
+    /** Commits the batch, so it can be used in try-with-resources. */
+    @Override
+    default void close() {
+        commit();
+    }
+
+    /**
+     * A batch that collects nothing: every call goes out as it is made, exactly as it would with
+     * no batch open. What {@code beginBatch} hands back on an implementation without batching.
+     */
+    static OutboundBatch immediate(Player player) {
+        return new OutboundBatch() {
+            private boolean open = true;
+
+            @Override
+            public Player getPlayer() {
+                return player;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void commit() {
+                open = false;
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package gg.lode.lecternapi.api.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * How large JSON payloads — HUD layouts, layout pages, inline animations, integrity reports —
+ * are compressed on the wire.
+ * <p>
+ * Both sides agree on the codec at handshake and apply it in both directions, but only to
+ * payloads at or above the {@link gg.lode.lecternapi.api.manager.ITransportManager#setCompression
+ * threshold}; small messages are sent as they are, since deflate's header would cost more than it
+ * saves. Every codec here is plain {@link Deflater}/{@link Inflater}, so neither side needs a
+ * native library.
+ */
+public enum PayloadCodec {
+
+    /** Payloads are sent as they are. */
+    NONE,
+
+    /** Raw deflate. A good ratio on anything over a few kilobytes. */
+    DEFLATE,
+
+    /**
+     * Deflate primed with a preset dictionary of the keys and values that
+     * recur across Lectern's JSON schemas, so even a payload of a few hundred bytes compresses
+     * well — the repeated structure is already known before the first byte.
+     */
+    DEFLATE_DICTIONARY;
+
+    /**
+     * The preset dictionary for {@link #DEFLATE_DICTIONARY}. Deflate favours the end of the
+     * dictionary, so the most common strings come last. Both sides must hold the same bytes;
+     * changing them is a protocol change.
+     */
+    private static final byte[] DICTIONARY = (
+            "\"format_version\":\"1.8.0\",\"animations\":{\"animation_length\":\"loop\":true,"
+                    + "\"bones\":{\"lerp_mode\":\"catmullrom\",\"pre\":\"post\":"
+                    + "\"classHashes\":\"codeSource\":\"jvmArguments\":\"threads\":\"classLoaders\":"
+                    + "\"behavior\":\"openOnJoin\":\"openDelayTicks\":\"topmost\":\"trigger\":\"actions\":"
+                    + "\"keyframes\":\"easing\":\"ease_in_out\":\"duration\":\"delay\":\"time\":"
+                    + "\"anchor\":\"align\":\"center\",\"left\",\"right\",\"top\",\"bottom\","
+                    + "\"color\":\"#ffffff\",\"opacity\":\"visible\":true,\"false\",\"shadow\":"
+                    + "\"texture\":\"text\":\"font\":\"layer\":\"alpha\":1.0,"
+                    + "\"rotation\":[\"position\":[\"scale\":[0.0,0.0,0.0],"
+                    + "\"width\":\"height\":\"x\":\"y\":\"id\":\"type\":\"name\":\"elements\":[{\"")
+            .getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Compresses a payload with this codec. {@link #NONE} returns it unchanged.
+     */
+    public byte[] encode(byte[] payload) {
+        if (this == NONE) return payload;
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            if (this == DEFLATE_DICTIONARY) deflater.setDictionary(DICTIONARY);
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, payload.length / 4));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Restores a payload compressed with this codec.
+     *
+     * @param maxLength the largest payload accepted; a stream that inflates past it is rejected
+     *                  rather than expanded without bound
+     * @throws IllegalStateException if the payload is corrupt or too large
+     */
+    public byte[] decode(byte[] payload, int maxLength) {
+        if (this == NONE) return payload;
+        Inflater inflater = new Inflater(true);
+        try {
+            // Raw streams never ask for the dictionary; it has to be set up front
+            if (this == DEFLATE_DICTIONARY) inflater.setDictionary(DICTIONARY);
+            inflater.setInput(payload);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(maxLength, payload.length * 4));
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated " + this + " payload");
+                }
+                if (out.size() + n > maxLength) {
+                    throw new IllegalStateException(this + " payload exceeds " + maxLength + " bytes");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt " + this + " payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
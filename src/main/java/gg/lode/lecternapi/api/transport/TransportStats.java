@@ -0,0 +1,23 @@
+package gg.lode.lecternapi.api.transport;
+
+/**
+ * What payload compression has done since the counters were last reset, across both directions.
+ *
+ * @param payloads          payloads at or above the threshold, which went through the codec
+ * @param uncompressedBytes their combined size before compression
+ * @param compressedBytes   their combined size on the wire
+ */
+public record TransportStats(long payloads, long uncompressedBytes, long compressedBytes) {
+
+    public static final TransportStats EMPTY = new TransportStats(0, 0, 0);
+
+    /** Bytes compression kept off the wire. */
+    public long bytesSaved() {
+        return uncompressedBytes - compressedBytes;
+    }
+
+    /** Wire size as a fraction of the original; 1 when nothing has been compressed. */
+    public double ratio() {
+        return uncompressedBytes == 0 ? 1 : (double) compressedBytes / uncompressedBytes;
+    }
+}
@@ -0,0 +1,105 @@
+package gg.lode.lecternapi.api.ui;
+
+/**
+ * One element in a {@link gg.lode.lecternapi.api.manager.IHUDManager#renderAll bulk render} —
+ * the same thing a single {@code renderTexture}, {@code renderText} or {@code renderShape} call
+ * draws, as a value.
+ * <p>
+ * A grid of forty inventory cells is forty render calls and forty messages; as a list of draws it
+ * is one. The list goes out as a table: the layer and alignments most elements share are written
+ * once as defaults, and each texture id once in a string table that the rows index into, so a row
+ * that only differs in position is a handful of bytes.
+ * <p>
+ * Alignments are the wire names, as {@link HudShape} takes them — {@code "left"}, {@code "center"}
+ * or {@code "right"} across, {@code "top"}, {@code "center"} or {@code "bottom"} down, and
+ * {@code "auto"} as well for text. Null takes the default: top-left, and {@code "auto"}.
+ *
+ * <pre>{@code
+ * List<HudDraw> cells = new ArrayList<>();
+ * for (int i = 0; i < 36; i++) {
+ *     cells.add(HudDraw.texture("inv:cell:" + i, "mygame:hud/slot", 20 + (i % 9) * 22, 40 + (i / 9) * 22, 20, 20));
+ * }
+ * api.getHUDManager().renderAll(player, cells);
+ * }</pre>
+ */
+public sealed interface HudDraw permits HudDraw.Texture, HudDraw.Text, HudDraw.Head, HudDraw.PlayerModel, HudDraw.Shape {
+
+    /** The element's reference; drawing one that is already on screen replaces it. */
+    String reference();
+
+    record Texture(
+            String reference, String textureId,
+            float x, float y, int layer, float width, float height, float alpha,
+            String horizontalAlignment, String verticalAlignment
+    ) implements HudDraw {
+        public Texture {
+            horizontalAlignment = horizontalAlignment == null ? "left" : horizontalAlignment;
+            verticalAlignment = verticalAlignment == null ? "top" : verticalAlignment;
+        }
+    }
+
+    record Text(
+            String reference, String text,
+            float x, float y, int layer, float scale, float alpha,
+            String horizontalAlignment, String verticalAlignment, String textAlignment
+    ) implements HudDraw {
+        public Text {
+            text = text == null ? "" : text;
+            horizontalAlignment = horizontalAlignment == null ? "left" : horizontalAlignment;
+            verticalAlignment = verticalAlignment == null ? "top" : verticalAlignment;
+            textAlignment = textAlignment == null ? "auto" : textAlignment;
+        }
+    }
+
+    record Head(
+            String reference, String headUuid,
+            float x, float y, int layer, float width, float height,
+            String horizontalAlignment, String verticalAlignment
+    ) implements HudDraw {
+        public Head {
+            horizontalAlignment = horizontalAlignment == null ? "left" : horizontalAlignment;
+            verticalAlignment = verticalAlignment == null ? "top" : verticalAlignment;
+        }
+    }
+
+    /** A rendered player model, as {@code renderPlayer} draws. */
+    record PlayerModel(
+            String reference, String identifier,
+            float x, float y, int layer, float width, float height, float alpha,
+            String horizontalAlignment, String verticalAlignment
+    ) implements HudDraw {
+        public PlayerModel {
+            horizontalAlignment = horizontalAlignment == null ? "left" : horizontalAlignment;
+            verticalAlignment = verticalAlignment == null ? "top" : verticalAlignment;
+        }
+    }
+
+    record Shape(HudShape shape) implements HudDraw {
+        @Override
+        public String reference() {
+            return shape.getReference();
+        }
+    }
+
+    // --- Shorthand: layer 0, fully opaque, aligned to the top-left corner ---
+
+    static Texture texture(String reference, String textureId, float x, float y, float width, float height) {
+        return new Texture(reference, textureId, x, y, 0, width, height, 1f, null, null);
+    }
+
+    static Text text(String reference, String text, float x, float y) {
+        return new Text(reference, text, x, y, 0, 1f, 1f, null, null, null);
+    }
+
+    static Head head(String reference, String headUuid, float x, float y, float width, float height) {
+        return new Head(reference, headUuid, x, y, 0, width, height, null, null);
+    }
+
+    static PlayerModel player(String reference, String identifier, float x, float y, float width, float height) {
+        return new PlayerModel(reference, identifier, x, y, 0, width, height, 1f, null, null);
+    }
+
+    static Shape shape(HudShape shape) {
+        return new Shape(shape);
+    }
+}
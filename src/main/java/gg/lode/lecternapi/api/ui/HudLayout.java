@@ -1,5 +1,9 @@
 package gg.lode.lecternapi.api.ui;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -9,8 +13,9 @@ import java.util.Map;
  * <p>
  * The layout travels as its own document rather than as a series of element calls, which is what
  * lets a UI be retimed or restyled without either side being rebuilt: the editor exports the
- * file, the server ships it, the client plays it. Layouts are cached on the client by id, so a
- * repeat showing costs only the id.
+ * file, the server ships it, the client plays it. Layouts are cached on the client by
+ * {@link #getContentHash() content hash}, so a repeat showing — in this session or a later one —
+ * costs only the id and hash, and an edited layout is never mistaken for the copy it replaced.
  * <p>
  * Text in a layout may carry {@code %tokens%}. Values the client knows — position, health, FPS —
  * it fills in itself; anything else comes from {@link #variable(String, String)}. That is also
@@ -29,6 +34,8 @@ public class HudLayout {
     private final String id;
     private final String json;
     private final Map<String, String> variables = new LinkedHashMap<>();
+    private long contentHash;
+    private ByteBuffer compiled;
 
     /**
      * @param id   the layout's key, used to replay or stop it later
@@ -61,12 +68,56 @@ public class HudLayout {
         return this;
     }
 
+    /**
+     * Attaches the layout's precompiled binary form, sent in place of the JSON to clients that
+     * read it. The JSON is still what the layout is, and still what its hash is taken over.
+     */
+    public HudLayout compiled(ByteBuffer compiled) {
+        this.compiled = compiled == null ? null : compiled.asReadOnlyBuffer();
+        return this;
+    }
+
     public String getId() { return id; }
     public String getJson() { return json; }
     public Map<String, String> getVariables() { return variables; }
 
+    /** The precompiled form, or null if the layout only has JSON. */
+    public ByteBuffer getCompiled() { return compiled == null ? null : compiled.duplicate(); }
+
+    public boolean hasCompiled() { return compiled != null; }
+
     /** Whether the layout carries a definition, as opposed to replaying a cached one. */
     public boolean hasDefinition() {
         return !json.isEmpty();
     }
+
+    /**
+     * A fingerprint of the layout's JSON — the first eight bytes of its SHA-256 — computed on
+     * first use. The client caches layouts under it and reports the ones it holds at handshake,
+     * so the JSON is only sent when the client's copy is missing or stale. Variables are not
+     * part of it. Zero for a layout without a definition.
+     */
+    public long getContentHash() {
+        long hash = contentHash;
+        if (hash == 0 && hasDefinition()) {
+            hash = hash(json);
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    static long hash(String json) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        // Zero is reserved for "no definition"
+        return hash == 0 ? 1 : hash;
+    }
 }
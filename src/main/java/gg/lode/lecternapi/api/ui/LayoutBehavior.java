@@ -83,6 +83,10 @@ public class LayoutBehavior {
      * Worth setting for anything that reads player state: on the join tick a player's position,
      * inventory and scoreboard are still settling, so a layout opened immediately can show values
      * that are correct for a moment and then wrong.
+     * <p>
+     * This is a minimum: when many players join at once, opens go through the layout manager's
+     * {@linkplain gg.lode.lecternapi.api.manager.ILayoutManager#setJoinBudget join budget} and
+     * may land a few ticks later.
      */
     public LayoutBehavior openDelayTicks(int ticks) {
         this.openDelayTicks = Math.max(0, ticks);
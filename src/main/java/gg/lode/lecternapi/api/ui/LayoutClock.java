@@ -0,0 +1,165 @@
+package gg.lode.lecternapi.api.ui;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * A layout variable whose value is a function of time, evaluated on the client every frame.
+ * <p>
+ * A countdown driven by {@code setLayoutVariable} costs a packet per player every time the
+ * number changes — twelve thousand of them over a ten-minute match at tick rate. Bound with
+ * {@link gg.lode.lecternapi.api.manager.IHUDManager#bindLayoutVariable bindLayoutVariable}, the
+ * client is told once where the value starts, how fast it moves and how to print it, and counts
+ * on its own. Binding a new clock — to pause, add time, or restart — is one more packet.
+ * <p>
+ * A clock starts when it is first bound — the manager {@linkplain #start() stamps} it in server
+ * time — unless a start was set with {@link #startedAt(long)}. Binding the same clock again, to a
+ * player who joins later, carries on from where it has got to: bound three minutes into a
+ * ten-minute countdown, it shows {@code 7:00}. The client is sent how far the clock has already
+ * run rather than a timestamp, and counts on from there with its own clock, so a client whose
+ * system time is off still counts the right interval. {@link #valueAt(long)} and
+ * {@link #printAt(long)} answer the same question on the server, for logic that needs to agree
+ * with what the player sees.
+ *
+ * <pre>{@code
+ * LayoutClock timer = LayoutClock.countdown(Duration.ofMinutes(10)).format(LayoutClock.Format.CLOCK);
+ * api.getHUDManager().bindLayoutVariable(player, "match_time", timer);
+ * }</pre>
+ */
+public class LayoutClock {
+
+    /** How the value is printed into the layout. */
+    public enum Format {
+        /** Whole number: {@code 42}. */
+        INTEGER,
+        /** One decimal place: {@code 42.5}. */
+        DECIMAL,
+        /** The value as seconds, on a clock: {@code 9:58}, or {@code 1:02:03} past an hour. */
+        CLOCK,
+        /** The value as a fraction, as a percentage: {@code 0.375} prints {@code 37%} counting up. */
+        PERCENT;
+
+        public String wireName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final double start;
+    private final double ratePerSecond;
+    private double min = Double.NEGATIVE_INFINITY;
+    private double max = Double.POSITIVE_INFINITY;
+    private Format format = Format.INTEGER;
+    private long startedAtMillis = NOT_STARTED;
+
+    /**
+     * @param start         the value when the clock starts
+     * @param ratePerSecond how much it changes each second; negative counts down
+     */
+    public LayoutClock(double start, double ratePerSecond) {
+        this.start = start;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    /** Seconds remaining, counting down to zero and stopping there. */
+    public static LayoutClock countdown(Duration duration) {
+        return new LayoutClock(duration.toMillis() / 1000.0, -1).clamp(0, Double.POSITIVE_INFINITY);
+    }
+
+    /** Seconds elapsed, counting up from zero. */
+    public static LayoutClock stopwatch() {
+        return new LayoutClock(0, 1);
+    }
+
+    /**
+     * A fraction from 0 to 1 over {@code duration} — a progress bar's fill — printed as a
+     * percentage unless reformatted.
+     */
+    public static LayoutClock progress(Duration duration) {
+        double seconds = Math.max(0.001, duration.toMillis() / 1000.0);
+        return new LayoutClock(0, 1 / seconds).clamp(0, 1).format(Format.PERCENT);
+    }
+
+    /** Holds the value within a range, so a countdown stops at zero rather than going negative. */
+    public LayoutClock clamp(double min, double max) {
+        this.min = min;
+        this.max = max;
+        return this;
+    }
+
+    public LayoutClock format(Format format) {
+        this.format = format == null ? Format.INTEGER : format;
+        return this;
+    }
+
+    /**
+     * Sets when the clock started, in server time, in place of when it is first bound — for a
+     * timer that should track something already under way, such as a match that began before
+     * the clock was made.
+     */
+    public LayoutClock startedAt(long epochMillis) {
+        this.startedAtMillis = epochMillis;
+        return this;
+    }
+
+    /**
+     * Starts the clock now if it has not started yet. What binding does; a clock already started
+     * keeps its start.
+     */
+    public LayoutClock start() {
+        if (startedAtMillis == NOT_STARTED) startedAtMillis = System.currentTimeMillis();
+        return this;
+    }
+
+    public boolean isStarted() { return startedAtMillis != NOT_STARTED; }
+
+    public double getStart() { return start; }
+    public double getRatePerSecond() { return ratePerSecond; }
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+    public Format getFormat() { return format; }
+
+    /** When the clock started, in server time; meaningful only once {@link #isStarted()}. */
+    public long getStartedAtMillis() { return startedAtMillis; }
+
+    /** The value at a moment in server time. A clock not yet started holds its start value. */
+    public double valueAt(long epochMillis) {
+        double elapsed = isStarted() ? (epochMillis - startedAtMillis) / 1000.0 : 0;
+        double value = start + ratePerSecond * elapsed;
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * The value at a moment in server time, printed the way the client prints it. In every format,
+     * values counting down round up to the last digit shown and values counting up round down, so
+     * a countdown reads {@code 0:00} only once it has run out, a stopwatch reads {@code 0:01} only
+     * once a second has passed, and a progress bar reads {@code 100%} only once it is full.
+     */
+    public String printAt(long epochMillis) {
+        double value = valueAt(epochMillis);
+        return switch (format) {
+            case INTEGER -> Long.toString(round(value, 1));
+            case DECIMAL -> String.format(Locale.ROOT, "%.1f", round(value, 10) / 10.0);
+            case CLOCK -> clock(round(value, 1));
+            case PERCENT -> round(value, 100) + "%";
+        };
+    }
+
+    /** The value in units of {@code 1 / scale}, rounded towards where the clock came from. */
+    private long round(double value, int scale) {
+        // Snap away float noise first, so 0.29 is 29 hundredths rather than 28.999...
+        double units = Math.rint(value * scale * 1.0E6) / 1.0E6;
+        return (long) (ratePerSecond < 0 ? Math.ceil(units) : Math.floor(units));
+    }
+
+    private static String clock(long seconds) {
+        String sign = seconds < 0 ? "-" : "";
+        long s = Math.abs(seconds);
+        long hours = s / 3600;
+        long minutes = s / 60 % 60;
+        return hours > 0
+                ? String.format(Locale.ROOT, "%s%d:%02d:%02d", sign, hours, minutes, s % 60)
+                : String.format(Locale.ROOT, "%s%d:%02d", sign, minutes, s % 60);
+    }
+}
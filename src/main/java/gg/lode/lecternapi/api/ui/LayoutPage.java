@@ -1,8 +1,11 @@
 package gg.lode.lecternapi.api.ui;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A whole page as the UI editor exports it: the layout, the rules it opens and closes under, and
@@ -12,6 +15,11 @@ import java.util.List;
  * than re-serialised from a parsed model, because the client is the thing that reads it and the
  * server has no business re-encoding a document it does not need to understand — a page can carry
  * an element type this build has never heard of and still play correctly.
+ * <p>
+ * Pages loaded from disk also carry a compiled form: the same document validated and packed into
+ * the client's binary representation, so a client that reads it skips the JSON parse. It is keyed
+ * by {@link #getSourceHash()} and cached on disk under {@code plugins/Lectern/compiled}, so a
+ * restart only recompiles what was edited.
  *
  * <pre>{@code
  * LayoutPage page = api.getLayoutManager().getPage("stats");
@@ -22,14 +30,43 @@ public class LayoutPage {
 
     private final String id;
     private final String json;
+    private final ByteBuffer compiled;
+    private long sourceHash;
     private final LayoutBehavior behavior;
     private final List<LayoutAction> actions;
+    // Element reference -> trigger -> actions, built once so dispatching an interaction is a lookup
+    private final Map<String, Map<LayoutAction.Trigger, List<LayoutAction>>> actionIndex;
 
     public LayoutPage(String id, String json, LayoutBehavior behavior, List<LayoutAction> actions) {
+        this(id, json, behavior, actions, null);
+    }
+
+    /**
+     * @param compiled the page's compiled binary form, or null for a page with only its JSON
+     */
+    public LayoutPage(String id, String json, LayoutBehavior behavior, List<LayoutAction> actions, byte[] compiled) {
         this.id = id == null || id.isBlank() ? "layout" : id;
         this.json = json == null ? "" : json;
+        this.compiled = compiled == null ? null : ByteBuffer.wrap(compiled.clone()).asReadOnlyBuffer();
         this.behavior = behavior == null ? LayoutBehavior.DEFAULT.copy() : behavior;
         this.actions = actions == null ? List.of() : List.copyOf(actions);
+        this.actionIndex = index(this.actions);
+    }
+
+    private static Map<String, Map<LayoutAction.Trigger, List<LayoutAction>>> index(List<LayoutAction> actions) {
+        if (actions.isEmpty()) return Map.of();
+        Map<String, Map<LayoutAction.Trigger, List<LayoutAction>>> building = new HashMap<>();
+        for (LayoutAction action : actions) {
+            building.computeIfAbsent(action.element(), element -> new EnumMap<>(LayoutAction.Trigger.class))
+                    .computeIfAbsent(action.trigger(), trigger -> new ArrayList<>(2))
+                    .add(action);
+        }
+        Map<String, Map<LayoutAction.Trigger, List<LayoutAction>>> index = new HashMap<>(building.size() * 2);
+        building.forEach((element, byTrigger) -> {
+            byTrigger.replaceAll((trigger, list) -> List.copyOf(list));
+            index.put(element, byTrigger);
+        });
+        return index;
     }
 
     public String getId() { return id; }
@@ -37,19 +74,38 @@ public class LayoutPage {
     /** The layout document, exactly as exported — what the client is sent and plays. */
     public String getJson() { return json; }
 
+    /**
+     * A fingerprint of the exported JSON — the same hash {@link HudLayout#getContentHash()} takes
+     * — which the compiled form is keyed by. Zero for a page without a definition.
+     */
+    public long getSourceHash() {
+        long hash = sourceHash;
+        if (hash == 0 && hasDefinition()) {
+            hash = HudLayout.hash(json);
+            sourceHash = hash;
+        }
+        return hash;
+    }
+
+    /** The compiled form, read-only, or null if the page has not been compiled. */
+    public ByteBuffer getCompiled() { return compiled == null ? null : compiled.duplicate(); }
+
+    public boolean hasCompiled() { return compiled != null; }
+
     public LayoutBehavior getBehavior() { return behavior; }
 
     public List<LayoutAction> getActions() { return actions; }
 
-    /** The actions bound to one element reference and trigger, in the order they were authored. */
+    /**
+     * The actions bound to one element reference and trigger, in the order they were authored.
+     * A lookup in an index built with the page; the list is shared and unmodifiable.
+     */
     public List<LayoutAction> actionsFor(String elementRef, LayoutAction.Trigger trigger) {
-        if (actions.isEmpty()) return Collections.emptyList();
-        String reference = elementRef == null ? "" : elementRef.trim();
-        List<LayoutAction> matches = new ArrayList<>(2);
-        for (LayoutAction action : actions) {
-            if (action.trigger() == trigger && action.element().equals(reference)) matches.add(action);
-        }
-        return matches;
+        if (trigger == null) return List.of();
+        Map<LayoutAction.Trigger, List<LayoutAction>> byTrigger =
+                actionIndex.get(elementRef == null ? "" : elementRef.trim());
+        if (byTrigger == null) return List.of();
+        return byTrigger.getOrDefault(trigger, List.of());
     }
 
     /** Whether the page carries a layout definition, as opposed to naming one the client has cached. */
@@ -57,8 +113,8 @@ public class LayoutPage {
         return !json.isEmpty();
     }
 
-    /** Turns this page into the layout the HUD manager plays. */
+    /** Turns this page into the layout the HUD manager plays, compiled form included. */
     public HudLayout toLayout() {
-        return new HudLayout(id, json);
+        return new HudLayout(id, json).compiled(compiled);
     }
 }